@@ -0,0 +1,27 @@
+package com.project.imgapi.config;
+
+import org.springframework.amqp.core.*;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 이미지 상세 캐시 무효화 토폴로지. imgapi.detailCache.broadcast=amqp 일 때만.
+ *
+ * imgapi.image.invalidate (fanout) → 노드마다 이름 없는 임시 큐 (exclusive, auto-delete)
+ * 노드가 내려가면 큐도 사라지고, 다시 뜬 노드는 빈 캐시로 시작하므로 놓친 메시지가 문제 되지 않는다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "imgapi.detailCache.broadcast", havingValue = "amqp")
+public class ImageCacheAmqpConfig {
+
+    public static final String EXCHANGE = "imgapi.image.invalidate";
+
+    @Bean FanoutExchange imageInvalidationExchange() { return new FanoutExchange(EXCHANGE); }
+
+    @Bean Queue imageInvalidationQueue() { return new AnonymousQueue(); }
+
+    @Bean Binding imageInvalidationBinding() {
+        return BindingBuilder.bind(imageInvalidationQueue()).to(imageInvalidationExchange());
+    }
+}
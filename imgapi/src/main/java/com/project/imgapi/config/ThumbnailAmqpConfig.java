@@ -0,0 +1,72 @@
+package com.project.imgapi.config;
+
+import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 썸네일 작업 큐 토폴로지. thumbnail.dispatch=amqp(발행) 또는 thumbnail.amqp.consume=true(소비)일 때만 활성화.
+ *
+ * imgapi.thumbnail (direct) → imgapi.thumbnail.jobs ──reject──▶ imgapi.thumbnail.dlx (fanout) → imgapi.thumbnail.jobs.dlq
+ */
+@Configuration
+@ConditionalOnExpression("'${thumbnail.dispatch:local}' == 'amqp' or ${thumbnail.amqp.consume:false}")
+public class ThumbnailAmqpConfig {
+
+    public static final String EXCHANGE = "imgapi.thumbnail";
+    public static final String ROUTING_KEY = "job";
+    public static final String QUEUE = "imgapi.thumbnail.jobs";
+    public static final String DLX = "imgapi.thumbnail.dlx";
+    public static final String DLQ = "imgapi.thumbnail.jobs.dlq";
+
+    @Bean DirectExchange thumbnailExchange() { return new DirectExchange(EXCHANGE); }
+
+    @Bean FanoutExchange thumbnailDeadLetterExchange() { return new FanoutExchange(DLX); }
+
+    @Bean Queue thumbnailQueue() {
+        return QueueBuilder.durable(QUEUE).deadLetterExchange(DLX).build();
+    }
+
+    @Bean Queue thumbnailDeadLetterQueue() { return QueueBuilder.durable(DLQ).build(); }
+
+    @Bean Binding thumbnailBinding() {
+        return BindingBuilder.bind(thumbnailQueue()).to(thumbnailExchange()).with(ROUTING_KEY);
+    }
+
+    @Bean Binding thumbnailDeadLetterBinding() {
+        return BindingBuilder.bind(thumbnailDeadLetterQueue()).to(thumbnailDeadLetterExchange());
+    }
+
+    @Bean MessageConverter thumbnailMessageConverter() {
+        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+        DefaultJackson2JavaTypeMapper typeMapper = new DefaultJackson2JavaTypeMapper();
+        typeMapper.setTrustedPackages("com.project.imgapi.service");
+        converter.setJavaTypeMapper(typeMapper);
+        return converter;
+    }
+
+    /** prefetch = 소비자당 미확인 메시지 수, concurrency = 워커 프로세스당 동시 디코드 수. */
+    @Bean SimpleRabbitListenerContainerFactory thumbnailListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            MessageConverter thumbnailMessageConverter,
+            @Value("${thumbnail.amqp.prefetch:2}") int prefetch,
+            @Value("${thumbnail.amqp.concurrency:2}") int concurrency,
+            @Value("${thumbnail.amqp.maxConcurrency:0}") int maxConcurrency) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setMessageConverter(thumbnailMessageConverter);
+        factory.setPrefetchCount(prefetch);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(maxConcurrency > 0 ? maxConcurrency : Runtime.getRuntime().availableProcessors());
+        factory.setDefaultRequeueRejected(false); // 예외 → requeue 대신 DLQ
+        return factory;
+    }
+}
@@ -0,0 +1,45 @@
+package com.project.imgapi.config;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+
+import com.project.imgapi.service.ThumbnailExecutor;
+
+/**
+ * 프로젝트별 대기 시간 지표(imgapi.thumbnail.project.wait)의 project 태그 상한.
+ * 먼저 나타난 thumbnail.metrics.maxProjects 개 프로젝트만 자기 태그를 갖고, 나머지는 project=other 로 합쳐 기록한다.
+ * MeterFilter 빈은 Spring Boot 가 레지스트리에 meter 가 생기기 전에 적용한다.
+ */
+@Configuration
+public class ThumbnailMetricsConfig {
+
+    public static final String OTHER_PROJECT = "other";
+
+    @Bean
+    MeterFilter thumbnailProjectTagLimit(@Value("${thumbnail.metrics.maxProjects:200}") int maxProjects) {
+        Set<String> tagged = ConcurrentHashMap.newKeySet();
+        return new MeterFilter() {
+            @Override
+            public Meter.Id map(Meter.Id id) {
+                if (!ThumbnailExecutor.PROJECT_WAIT.equals(id.getName())) return id;
+                String project = id.getTag("project");
+                if (project == null || tagged.contains(project)) return id;
+                synchronized (tagged) {
+                    if (tagged.size() < maxProjects) {
+                        tagged.add(project);
+                        return id;
+                    }
+                }
+                return id.replaceTags(Tags.of(id.getTagsAsIterable()).and("project", OTHER_PROJECT));
+            }
+        };
+    }
+}
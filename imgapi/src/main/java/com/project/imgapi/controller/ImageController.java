@@ -1,7 +1,12 @@
 package com.project.imgapi.controller;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,16 +14,25 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.project.imgapi.dto.Conditional;
+import com.project.imgapi.dto.ImageDtos.BatchGetRequest;
 import com.project.imgapi.dto.ImageDtos.Detail;
+import com.project.imgapi.dto.ImageDtos.DetailBatch;
 import com.project.imgapi.dto.ImageDtos.PatchRequest;
 import com.project.imgapi.dto.ImageDtos.UploadResponse;
+import com.project.imgapi.dto.TagFilter;
+import com.project.imgapi.enums.ImageSort;
 import com.project.imgapi.enums.ImageStatus;
+import com.project.imgapi.enums.ListUrls;
+import com.project.imgapi.service.ImageExportService;
 import com.project.imgapi.service.ImageService;
 
 import jakarta.validation.Valid;
@@ -27,8 +41,11 @@ import jakarta.validation.Valid;
 @RequestMapping
 public class ImageController {
     private final ImageService imageService;
+    private final ImageExportService exportService;
 
-    public ImageController(ImageService service){ this.imageService = service; }    
+    public ImageController(ImageService service, ImageExportService exportService){
+        this.imageService = service; this.exportService = exportService;
+    }    
 
     @PostMapping(value = "/projects/{projectId}/images", consumes = "multipart/form-data")
     public UploadResponse upload(@PathVariable Long projectId,
@@ -37,25 +54,65 @@ public class ImageController {
     }
 
     // 이미지 목록 조회: Offset / Cursor
+    // includeUrls=thumbnail|all 이면 항목마다 presigned URL 포함 (단건 조회 N번 대신)
+    // tags=a,b (정확 일치) + tagMode=all(모두 가진 이미지, 기본)|any(하나라도)
+    // offset: total 은 필터가 없거나 status 만 있으면 project_stats 에서. 태그 필터에 withTotal=false 면 count 생략 (hasNext 만)
+    // sort=id|createdAt|sizeBytes|filename, dir=desc|asc. cursor 는 이전 응답의 nextCursor 그대로 (정렬을 바꾸면 처음부터)
+    // 응답에 약한 ETag. If-None-Match 가 맞으면 304 (URL 서명/본문 생략)
     @GetMapping("/projects/{projectId}/images")
-    public Object list(@PathVariable Long projectId,
+    public ResponseEntity<?> list(@PathVariable Long projectId,
                         @RequestParam(defaultValue = "offset") String mode,
                         @RequestParam(required = false) ImageStatus status,
                         @RequestParam(required = false) String tags,
+                        @RequestParam(defaultValue = "all") String tagMode,
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "20") int size,
-                        @RequestParam(required = false) Long cursor) {
+                        @RequestParam(defaultValue = "true") boolean withTotal,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "id") String sort,
+                        @RequestParam(defaultValue = "desc") String dir,
+                        @RequestParam(defaultValue = "none") String includeUrls,
+                        @RequestParam(defaultValue = "600") int expirySec,
+                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        boolean asc = "asc".equalsIgnoreCase(dir);
+        TagFilter tagFilter = TagFilter.parse(tags, tagMode);
+        ImageSort sortKey = ImageSort.fromParam(sort);
+        ListUrls urls = ListUrls.fromParam(includeUrls);
         if ("cursor".equalsIgnoreCase(mode)) {
-        return imageService.listCursor(projectId, status, tags, cursor, size);
+        return conditional(imageService.listCursor(projectId, status, tagFilter, cursor, size, sortKey, asc, urls, expirySec, ifNoneMatch));
         }
-        return imageService.listOffset(projectId, status, tags, page, size);
+        return conditional(imageService.listOffset(projectId, status, tagFilter, page, size, withTotal, sortKey, asc, urls, expirySec, ifNoneMatch));
     }
 
-    // 이미지 단건 조회 (메타 + 프리사인 URL)
+    // 프로젝트 전체 내보내기 (NDJSON, 삭제되지 않은 이미지, id 오름차순). 끊기면 마지막 id 를 after 로 넘겨 이어받는다
+    @GetMapping(value = "/projects/{projectId}/images/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable Long projectId,
+                        @RequestParam(defaultValue = "0") long after) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(out -> exportService.export(projectId, after, out));
+    }
+
+    // 이미지 단건 조회 (메타 + 프리사인 URL). 강한 ETag(version + presign 버킷), If-None-Match 가 맞으면 304
+    // Cache-Control max-age = presign 버킷이 끝날 때까지 (그 동안은 URL 이 그대로라 본문 재사용 가능)
     @GetMapping("/images/{id}")
-    public Detail get(@PathVariable Long id,
+    public ResponseEntity<Detail> get(@PathVariable Long id,
+                        @RequestParam(defaultValue = "600") int expirySec,
+                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(imageService.get(id, expirySec, ifNoneMatch));
+    }
+
+    // 이미지 여러 건 조회: GET /images?ids=1,2,3 (최대 100건, 요청 순서 유지, 없는 id 는 missing)
+    @GetMapping("/images")
+    public DetailBatch getMany(@RequestParam List<Long> ids,
                         @RequestParam(defaultValue = "600") int expirySec) {
-        return imageService.get(id, expirySec);
+        return imageService.getMany(ids, expirySec);
+    }
+
+    // id 가 많아 URL 이 길어지면 POST 본문으로
+    @PostMapping("/images/batch-get")
+    public DetailBatch getMany(@RequestBody @Valid BatchGetRequest req) {
+        return imageService.getMany(req.ids(), req.expirySec() == null ? 600 : req.expirySec());
     }
 
     // 이미지 수정 (태그, 메모, 상태) + 낙관적 락
@@ -71,4 +128,15 @@ public class ImageController {
         imageService.softDelete(id);
         return ResponseEntity.noContent().build();
     }
+
+    // presigned URL 이 들어 있으므로 공유 캐시(CDN/프록시)에는 두지 않는다 (private)
+    private static <T> ResponseEntity<T> conditional(Conditional<T> r) {
+        CacheControl cc = r.maxAgeSeconds() > 0
+            ? CacheControl.maxAge(r.maxAgeSeconds(), TimeUnit.SECONDS).cachePrivate()
+            : CacheControl.noCache().cachePrivate();
+        ResponseEntity.BodyBuilder b = ResponseEntity.status(r.isNotModified() ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+            .eTag(r.etag())
+            .cacheControl(cc);
+        return r.isNotModified() ? b.build() : b.body(r.body());
+    }
 }
@@ -0,0 +1,14 @@
+package com.project.imgapi.dto;
+
+/**
+ * 조건부 GET 결과. body 가 null 이면 If-None-Match 가 맞아 304 로 응답한다 (본문/URL 서명 생략).
+ * maxAgeSeconds 는 이 응답을 그대로 재사용해도 되는 시간 (0 = 매번 재검증).
+ */
+public record Conditional<T>(String etag, long maxAgeSeconds, T body) {
+
+    public static <T> Conditional<T> notModified(String etag, long maxAgeSeconds) {
+        return new Conditional<>(etag, maxAgeSeconds, null);
+    }
+
+    public boolean isNotModified() { return body == null; }
+}
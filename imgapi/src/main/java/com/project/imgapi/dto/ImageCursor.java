@@ -0,0 +1,54 @@
+package com.project.imgapi.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import com.project.imgapi.enums.ImageSort;
+
+/**
+ * 목록 커서: 마지막 항목의 (정렬 키 값, id) + 정렬 방식. 클라이언트에는 base64url 문자열로만 보인다.
+ * value 는 정렬 키 타입 그대로 (CREATED_AT → Instant, SIZE_BYTES → Long, FILENAME → String, ID → null).
+ */
+public record ImageCursor(ImageSort sort, boolean asc, Object value, long id) {
+
+    private static final String VERSION = "1";
+
+    public static ImageCursor after(ImageSort sort, boolean asc, ImageRow last) {
+        Object value = switch (sort) {
+            case ID -> null;
+            case CREATED_AT -> last.createdAt();
+            case SIZE_BYTES -> last.sizeBytes();
+            case FILENAME -> last.filename();
+        };
+        return new ImageCursor(sort, asc, value, last.id());
+    }
+
+    public String encode() {
+        // 파일명에 구분자가 들어가도 되도록 value 를 마지막에 둔다
+        String raw = String.join("\n", VERSION, sort.name(), asc ? "a" : "d", Long.toString(id), value == null ? "" : value.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** 잘못된 커서는 IllegalArgumentException. 예전 숫자 커서(id DESC 의 마지막 id)도 받는다. */
+    public static ImageCursor decode(String cursor) {
+        if (cursor.chars().allMatch(Character::isDigit)) {
+            return new ImageCursor(ImageSort.ID, false, null, Long.parseLong(cursor));
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] p = raw.split("\n", 5);
+            if (p.length != 5 || !VERSION.equals(p[0])) throw new IllegalArgumentException("invalid cursor");
+            ImageSort sort = ImageSort.valueOf(p[1]);
+            Object value = switch (sort) {
+                case ID -> null;
+                case CREATED_AT -> Instant.parse(p[4]);
+                case SIZE_BYTES -> Long.parseLong(p[4]);
+                case FILENAME -> p[4];
+            };
+            return new ImageCursor(sort, "a".equals(p[2]), value, Long.parseLong(p[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.imgapi.dto;
+
+import java.time.Instant;
+
+import com.project.imgapi.enums.ImageStatus;
+
+/** 상세 조회 프로젝션. projectId 는 FK 컬럼 그대로 (project 조인 없음). */
+public record ImageDetailRow(Long id, Long projectId, String filename, String contentType, long sizeBytes,
+                             String tags, String memo, ImageStatus status, String objectKey, String thumbnailKey,
+                             Instant createdAt, Instant updatedAt, Long version) {}
@@ -1,5 +1,6 @@
 package com.project.imgapi.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.Size;
 import java.net.URL;
 import java.time.Instant;
@@ -8,18 +9,34 @@ import java.util.List;
 import com.project.imgapi.enums.ImageStatus;
 
 public class ImageDtos {
-  public record UploadResponse(List<Long> ids) {}
+  public record UploadResponse(List<Long> ids, List<Duplicate> duplicates) {}
+  // 중복으로 건너뛴 입력 (index = 요청 내 파일 순번, existingId = 같은 내용의 기존/동일 요청 내 이미지)
+  public record Duplicate(int index, String filename, Long existingId) {}
   public record Detail(Long id, Long projectId, String filename, String contentType, long sizeBytes,
                        String tags, String memo, ImageStatus status,
-                       URL originalUrl, URL thumbnailUrl,
+                       URL originalUrl, URL thumbnailUrl, List<Rendition> renditions,
                        Instant createdAt, Instant updatedAt, Long version) {}
+  public record Rendition(int width, int height, URL url) {}
+  // NDJSON 내보내기 한 줄 (URL 없음, 메타데이터 + 객체 키). id 오름차순이라 마지막 id 로 이어받을 수 있다
+  public record ExportItem(Long id, Long projectId, String filename, String contentType, long sizeBytes, String contentHash,
+                           String tags, String memo, ImageStatus status, String objectKey, String thumbnailKey,
+                           Instant createdAt, Instant updatedAt, Long version) {}
+  // 여러 건 조회: items 는 요청 순서, missing 은 없거나 삭제된 id
+  public record DetailBatch(List<Detail> items, List<Long> missing) {}
+  public record BatchGetRequest(@Size(max=100) List<Long> ids, Integer expirySec) {}
   public record PatchRequest(
       @Size(max=1000) String tags,
       @Size(max=2000) String memo,
       ImageStatus status,
       Long version
   ) {}
-  public record ListItem(Long id, String filename, ImageStatus status, String tags, long sizeBytes, Instant createdAt) {}
-  public record OffsetList(List<ListItem> items, long total, int page, int size) {}
-  public record CursorList(List<ListItem> items, Long nextCursor) {}
+  // thumbnailUrl/originalUrl 은 includeUrls 로 요청했을 때만 (없으면 필드 자체를 생략)
+  public record ListItem(Long id, String filename, ImageStatus status, String tags, long sizeBytes, Instant createdAt,
+                         @JsonInclude(JsonInclude.Include.NON_NULL) URL thumbnailUrl,
+                         @JsonInclude(JsonInclude.Include.NON_NULL) URL originalUrl) {}
+  // total: withTotal=false 인 태그 필터 조회에서는 세지 않는다(null, 필드 생략). hasNext 는 항상
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public record OffsetList(List<ListItem> items, Long total, int page, int size, boolean hasNext) {}
+  // nextCursor: 불투명 문자열 (정렬 키 포함), 마지막 페이지면 null
+  public record CursorList(List<ListItem> items, String nextCursor) {}
 }
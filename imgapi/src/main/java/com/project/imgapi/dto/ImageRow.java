@@ -0,0 +1,12 @@
+package com.project.imgapi.dto;
+
+import java.time.Instant;
+
+import com.project.imgapi.enums.ImageStatus;
+
+/**
+ * 목록 조회 프로젝션: ListItem 컬럼 + URL 서명용 키 + 목록 ETag 용 version 만 읽는다 (엔티티/영속성 컨텍스트 스냅샷 없음).
+ * JPQL 생성자 표현식(select new ...)으로 만들어지므로 인자 순서를 바꾸면 쿼리도 같이 바꿔야 한다.
+ */
+public record ImageRow(Long id, String filename, ImageStatus status, String tags, long sizeBytes, Instant createdAt,
+                       String thumbnailKey, String objectKey, Long version) {}
@@ -0,0 +1,4 @@
+package com.project.imgapi.dto;
+
+/** 렌디션 프로젝션 (상세 조회용). */
+public record RenditionRow(Long imageId, int width, int height, String objectKey) {}
@@ -0,0 +1,22 @@
+package com.project.imgapi.dto;
+
+import java.util.List;
+
+import com.project.imgapi.util.TagUtil;
+
+/**
+ * 목록 태그 필터. all = 모든 태그를 가진 이미지(AND), 아니면 하나라도 가진 이미지(OR).
+ * 태그는 정확히 일치해야 한다 (부분 문자열 X).
+ */
+public record TagFilter(List<String> tags, boolean all) {
+
+    public static final int MAX_TAGS = 10;
+
+    /** tags 가 비어 있으면 null (필터 없음). tagMode = all | any */
+    public static TagFilter parse(String tags, String tagMode) {
+        List<String> list = TagUtil.normalize(tags);
+        if (list.isEmpty()) return null;
+        if (list.size() > MAX_TAGS) throw new IllegalArgumentException("too many tags (max " + MAX_TAGS + ")");
+        return new TagFilter(list, !"any".equalsIgnoreCase(tagMode));
+    }
+}
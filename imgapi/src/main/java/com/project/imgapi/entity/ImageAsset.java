@@ -20,7 +20,11 @@ import com.project.imgapi.enums.ImageStatus;
       name = "idx_project_softdel_status_id_desc",
       columnList = "project_id, soft_delete, status, id DESC"
     ),
-    @Index(name = "idx_tags", columnList = "tags")
+    // keyset 페이징: 정렬 키마다 (정렬 키, id) 복합 인덱스 (asc 는 역방향 스캔)
+    @Index(name = "idx_project_softdel_id_desc", columnList = "project_id, soft_delete, id DESC"),
+    @Index(name = "idx_project_softdel_created_id", columnList = "project_id, soft_delete, created_at DESC, id DESC"),
+    @Index(name = "idx_project_softdel_size_id", columnList = "project_id, soft_delete, size_bytes DESC, id DESC"),
+    @Index(name = "idx_project_softdel_filename_id", columnList = "project_id, soft_delete, original_filename, id")
   },
   uniqueConstraints = {
     @UniqueConstraint(
@@ -30,7 +34,11 @@ import com.project.imgapi.enums.ImageStatus;
   }
 )
 public class ImageAsset {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY 는 Hibernate insert 배치를 끈다 → pooled 시퀀스 (50개씩 선할당)
+    // id 는 노드별로 블록 단위 할당되므로 전역 시간순은 아니지만, 유일·불변이라 id 커서 페이징은 그대로 정확하다
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "image_asset_seq")
+    @SequenceGenerator(name = "image_asset_seq", sequenceName = "image_asset_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY) @JoinColumn(name="project_id", nullable=false)
@@ -57,7 +65,7 @@ public class ImageAsset {
     @Column(nullable=false) 
     private boolean softDelete = false;
 
-    private String tags;
+    private String tags;               // 표시용 (쉼표 구분, 정규화). 필터는 image_tag
     private String memo;
 
     @Version private Long version;
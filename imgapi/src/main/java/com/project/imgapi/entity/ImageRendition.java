@@ -0,0 +1,37 @@
+package com.project.imgapi.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(
+  name = "image_rendition",
+  uniqueConstraints = {
+    @UniqueConstraint(
+      name = "uk_rendition_image_width",
+      columnNames = {"image_id", "width"}
+    )
+  }
+)
+public class ImageRendition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "image_rendition_seq")
+    @SequenceGenerator(name = "image_rendition_seq", sequenceName = "image_rendition_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY) @JoinColumn(name="image_id", nullable=false)
+    private ImageAsset image;
+
+    @Column(nullable=false)
+    private int width;
+    @Column(nullable=false)
+    private int height;
+
+    @Column(name="object_key", nullable=false)
+    private String objectKey;          // S3 썸네일 (width 별)
+}
@@ -0,0 +1,48 @@
+package com.project.imgapi.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * 이미지 태그 (정규화된 소문자 1개당 1행). ImageAsset.tags 는 표시용 원문으로 남고, 필터는 이 테이블로 한다.
+ * PK (image_id, tag): 이미지별 exists 확인, (project_id, tag, image_id): 태그에서 이미지로 찾아갈 때.
+ * 쓰기는 ImageTagWriter (JDBC 배치).
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@IdClass(ImageTag.Key.class)
+@Table(
+  name = "image_tag",
+  indexes = {
+    @Index(name = "idx_imagetag_project_tag_image", columnList = "project_id, tag, image_id")
+  }
+)
+public class ImageTag {
+
+    @Id @Column(name="image_id", nullable=false)
+    private Long imageId;
+    @Id @Column(nullable=false, length=100)
+    private String tag;
+
+    @Column(name="project_id", nullable=false)
+    private Long projectId;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        private Long imageId;
+        private String tag;
+
+        @Override public boolean equals(Object o) {
+            return o instanceof Key k && java.util.Objects.equals(imageId, k.imageId) && java.util.Objects.equals(tag, k.tag);
+        }
+        @Override public int hashCode() { return java.util.Objects.hash(imageId, tag); }
+    }
+}
@@ -11,7 +11,9 @@ import lombok.Setter;
 @NoArgsConstructor
 @Table(name = "project")
 public class Project {
-  @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_seq")
+  @SequenceGenerator(name = "project_seq", sequenceName = "project_seq", allocationSize = 50)
   private Long id;
   @Column(nullable=false, unique=true) private String code;  
 }
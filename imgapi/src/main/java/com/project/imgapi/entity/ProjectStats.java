@@ -0,0 +1,31 @@
+package com.project.imgapi.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 프로젝트별 집계 (삭제되지 않은 이미지 기준). 목록 total 을 count(*) 대신 여기서 읽는다.
+ * 업로드/상태 변경/삭제 트랜잭션에서 ProjectStatsWriter 가 증감한다. 행이 없으면 첫 갱신 때 재집계로 만든다.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "project_stats")
+public class ProjectStats {
+    @Id @Column(name="project_id")
+    private Long projectId;
+
+    @Column(name="image_count", nullable=false)
+    private long imageCount;
+    @Column(name="processing_count", nullable=false)
+    private long processingCount;
+    @Column(name="ready_count", nullable=false)
+    private long readyCount;
+    @Column(name="failed_count", nullable=false)
+    private long failedCount;
+    @Column(name="total_bytes", nullable=false)
+    private long totalBytes;
+}
@@ -0,0 +1,53 @@
+package com.project.imgapi.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+import com.project.imgapi.enums.ThumbnailJobStatus;
+
+/**
+ * 썸네일 작업 outbox. ImageAsset insert 와 같은 트랜잭션에서 기록되고, 성공하면 삭제된다.
+ * PENDING(next_attempt_at 이후 실행) → RUNNING(lease_until 까지 locked_by 소유) → 삭제 | PENDING(재시도) | DEAD
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(
+  name = "thumbnail_job",
+  indexes = {
+    @Index(name = "idx_thumbjob_status_next", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_thumbjob_status_lease", columnList = "status, lease_until")
+  }
+)
+public class ThumbnailJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "thumbnail_job_seq")
+    @SequenceGenerator(name = "thumbnail_job_seq", sequenceName = "thumbnail_job_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name="image_id", nullable=false)
+    private Long imageId;
+    @Column(name="project_id", nullable=false)
+    private Long projectId;
+
+    @Enumerated(EnumType.STRING) @Column(nullable=false, length=16)
+    private ThumbnailJobStatus status = ThumbnailJobStatus.PENDING;
+
+    @Column(nullable=false)
+    private int attempts;
+    @Column(name="next_attempt_at", nullable=false)
+    private Instant nextAttemptAt = Instant.now();
+    @Column(name="lease_until")
+    private Instant leaseUntil;
+    @Column(name="locked_by", length=100)
+    private String lockedBy;
+    @Column(name="last_error", length=1000)
+    private String lastError;
+
+    @Column(nullable=false) private Instant createdAt = Instant.now();
+}
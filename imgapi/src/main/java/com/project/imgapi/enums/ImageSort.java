@@ -0,0 +1,27 @@
+package com.project.imgapi.enums;
+
+import java.util.Locale;
+
+// 목록 정렬 키 (param = 요청 파라미터 이름, field = ImageAsset 속성). 모든 정렬은 id 를 보조 키로 써서 순서가 유일하다
+public enum ImageSort {
+    ID("id", "id"), CREATED_AT("createdAt", "createdAt"), SIZE_BYTES("sizeBytes", "sizeBytes"), FILENAME("filename", "originalFilename");
+
+    private final String param;
+    private final String field;
+
+    ImageSort(String param, String field) { this.param = param; this.field = field; }
+
+    public String param() { return param; }
+
+    public String field() { return field; }
+
+    /** sort=id|createdAt|sizeBytes|filename (상수 이름 created_at 등도, 대소문자 무시). 모르는 값은 IllegalArgumentException (→ 400) */
+    public static ImageSort fromParam(String value) {
+        if (value == null || value.isBlank()) return ID;
+        String v = value.strip();
+        for (ImageSort s : values()) {
+            if (s.param.equalsIgnoreCase(v) || s.name().equals(v.toUpperCase(Locale.ROOT))) return s;
+        }
+        throw new IllegalArgumentException("invalid sort: " + value);
+    }
+}
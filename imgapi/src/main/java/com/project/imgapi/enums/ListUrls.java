@@ -0,0 +1,18 @@
+package com.project.imgapi.enums;
+
+import java.util.Locale;
+
+// 목록 응답에 함께 넣을 presigned URL (includeUrls)
+public enum ListUrls {
+    NONE, THUMBNAIL, ALL;
+
+    /** includeUrls=none|thumbnail|all (대소문자 무시). 모르는 값은 IllegalArgumentException (→ 400) */
+    public static ListUrls fromParam(String value) {
+        if (value == null || value.isBlank()) return NONE;
+        try {
+            return valueOf(value.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid includeUrls: " + value);
+        }
+    }
+}
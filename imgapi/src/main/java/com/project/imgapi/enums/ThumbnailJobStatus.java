@@ -0,0 +1,3 @@
+package com.project.imgapi.enums;
+
+public enum ThumbnailJobStatus { PENDING, RUNNING, DEAD }
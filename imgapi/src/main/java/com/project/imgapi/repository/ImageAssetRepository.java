@@ -4,43 +4,62 @@ import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 
+import com.project.imgapi.dto.ImageDetailRow;
 import com.project.imgapi.entity.ImageAsset;
 import com.project.imgapi.enums.ImageStatus;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface ImageAssetRepository extends JpaRepository<ImageAsset, Long> {
+public interface ImageAssetRepository extends JpaRepository<ImageAsset, Long>, ImageAssetRepositoryCustom {
 
+  // 목록(offset/cursor)은 findPage(findRows + countRows) / scanKeyset (ImageAssetRepositoryImpl, 필터·정렬에 따라 JPQL 생성)
+
+  // id 는 pooled 시퀀스라 유일·불변, 정렬 보조 키로 쓰면 keyset 페이지 간 중복/누락 없음
+
+  // 상세 조회는 프로젝션 (읽기 전용, project 조인 없이 FK 값만). 수정 경로는 아래 엔티티 조회
   @Query("""
-   select i from ImageAsset i
-   where i.project.id = :projectId
-     and i.softDelete = false
-     and (:status is null or i.status = :status)
-     and (:tags is null or lower(i.tags) like lower(concat('%', :tags, '%')))
+    select new com.project.imgapi.dto.ImageDetailRow(i.id, i.project.id, i.originalFilename, i.contentType, i.sizeBytes,
+           i.tags, i.memo, i.status, i.objectKey, i.thumbnailKey, i.createdAt, i.updatedAt, i.version)
+    from ImageAsset i where i.id = :id and i.softDelete = false
   """)
-  Page<ImageAsset> findPage(@Param("projectId") Long projectId,
-                            @Param("status") ImageStatus status,
-                            @Param("tags") String tags,
-                            Pageable pageable);
+  Optional<ImageDetailRow> findDetailRow(@Param("id") Long id);
 
-  // Cursor (id DESC, lastId 커서)
+  // 여러 건 상세 조회 (IN 1회)
   @Query("""
-    select i from ImageAsset i
-    where i.project.id = :projectId
-      and i.softDelete = false
-      and (:status is null or i.status = :status)
-      and (:lastId is null or i.id < :lastId)
-    order by i.id desc
+    select new com.project.imgapi.dto.ImageDetailRow(i.id, i.project.id, i.originalFilename, i.contentType, i.sizeBytes,
+           i.tags, i.memo, i.status, i.objectKey, i.thumbnailKey, i.createdAt, i.updatedAt, i.version)
+    from ImageAsset i where i.id in :ids and i.softDelete = false
   """)
-  List<ImageAsset> scanDesc(@Param("projectId") Long projectId,
-                            @Param("status") ImageStatus status,
-                            @Param("tags") String tags,
-                            @Param("lastId") Long lastId,
-                            Pageable limit);
+  List<ImageDetailRow> findDetailRows(@Param("ids") Collection<Long> ids);
 
   @EntityGraph(attributePaths = {"project"})
   Optional<ImageAsset> findByIdAndSoftDeleteFalse(Long id);
 
   boolean existsByProjectIdAndContentHashAndSoftDeleteFalse(Long projectId, String contentHash);
+
+  interface HashMatch {
+    String getContentHash();
+    Long getId();
+  }
+
+  // 업로드 요청 단위 중복 체크 (uk_project_hash 인덱스로 1회 조회)
+  @Query("""
+    select i.contentHash as contentHash, i.id as id from ImageAsset i
+    where i.project.id = :projectId
+      and i.contentHash in :hashes
+      and i.softDelete = false
+  """)
+  List<HashMatch> findLiveHashes(@Param("projectId") Long projectId,
+                                 @Param("hashes") Collection<String> hashes);
+
+  // 상태만 바꾼다 (엔티티 재조회 없이). version 을 올려 낙관적 락 의미는 유지
+  @Modifying
+  @Query("""
+    update ImageAsset i set i.status = :status, i.version = i.version + 1, i.updatedAt = :now
+    where i.id = :id and i.softDelete = false
+  """)
+  int updateStatus(@Param("id") Long id, @Param("status") ImageStatus status, @Param("now") Instant now);
 }
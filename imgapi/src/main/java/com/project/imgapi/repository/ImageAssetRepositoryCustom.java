@@ -0,0 +1,33 @@
+package com.project.imgapi.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+
+import com.project.imgapi.dto.ImageCursor;
+import com.project.imgapi.dto.ImageRow;
+import com.project.imgapi.dto.TagFilter;
+import com.project.imgapi.enums.ImageSort;
+import com.project.imgapi.enums.ImageStatus;
+
+// 목록은 모두 ImageRow 프로젝션으로 (엔티티를 만들지 않는다)
+public interface ImageAssetRepositoryCustom {
+
+  /** offset 페이징 (+ total). 필터/정렬은 scanKeyset 과 같다. */
+  Page<ImageRow> findPage(Long projectId, ImageStatus status, TagFilter tags,
+                            ImageSort sort, boolean asc, int page, int size);
+
+  /** findPage 의 행만 (count 없음). offset 부터 limit 건. */
+  List<ImageRow> findRows(Long projectId, ImageStatus status, TagFilter tags,
+                            ImageSort sort, boolean asc, int offset, int limit);
+
+  /** findPage 의 total 만. 필터 없는 total 은 project_stats 에서 읽는 편이 싸다. */
+  long countRows(Long projectId, ImageStatus status, TagFilter tags);
+
+  /**
+   * keyset 페이징: after 다음부터 limit 건. 정렬 키와 방향에 따라 JPQL 을 만든다.
+   * (정렬 키, id) 복합 인덱스를 타므로 페이지 깊이와 무관하게 O(limit).
+   */
+  List<ImageRow> scanKeyset(Long projectId, ImageStatus status, TagFilter tags,
+                              ImageSort sort, boolean asc, ImageCursor after, int limit);
+}
@@ -0,0 +1,117 @@
+package com.project.imgapi.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+
+import com.project.imgapi.dto.ImageCursor;
+import com.project.imgapi.dto.ImageRow;
+import com.project.imgapi.dto.TagFilter;
+import com.project.imgapi.enums.ImageSort;
+import com.project.imgapi.enums.ImageStatus;
+
+class ImageAssetRepositoryImpl implements ImageAssetRepositoryCustom {
+
+  // ImageRow 생성자 인자 순서 그대로
+  private static final String SELECT_ROW = """
+      select new com.project.imgapi.dto.ImageRow(i.id, i.originalFilename, i.status, i.tags, i.sizeBytes, i.createdAt,
+                                                 i.thumbnailKey, i.objectKey, i.version)
+      from ImageAsset i""";
+
+  @PersistenceContext
+  private EntityManager em;
+
+  @Override
+  public Page<ImageRow> findPage(Long projectId, ImageStatus status, TagFilter tags,
+                                 ImageSort sort, boolean asc, int page, int size) {
+    List<ImageRow> rows = findRows(projectId, status, tags, sort, asc, page * size, size);
+    return new PageImpl<>(rows, PageRequest.of(page, size), countRows(projectId, status, tags));
+  }
+
+  @Override
+  public List<ImageRow> findRows(Long projectId, ImageStatus status, TagFilter tags,
+                                 ImageSort sort, boolean asc, int offset, int limit) {
+    TypedQuery<ImageRow> q = em.createQuery(SELECT_ROW + where(status, tags) + orderBy(sort, asc), ImageRow.class)
+        .setFirstResult(offset)
+        .setMaxResults(limit);
+    bind(q, projectId, status, tags);
+    return q.getResultList();
+  }
+
+  @Override
+  public long countRows(Long projectId, ImageStatus status, TagFilter tags) {
+    TypedQuery<Long> count = em.createQuery("select count(i) from ImageAsset i" + where(status, tags), Long.class);
+    bind(count, projectId, status, tags);
+    return count.getSingleResult();
+  }
+
+  @Override
+  public List<ImageRow> scanKeyset(Long projectId, ImageStatus status, TagFilter tags,
+                                   ImageSort sort, boolean asc, ImageCursor after, int limit) {
+    String key = "i." + sort.field();
+    String cmp = asc ? ">" : "<";
+
+    StringBuilder jpql = new StringBuilder(SELECT_ROW).append(where(status, tags));
+    if (after != null) {
+      if (sort == ImageSort.ID) {
+        jpql.append(" and i.id ").append(cmp).append(" :lastId");
+      } else {
+        jpql.append(" and (").append(key).append(' ').append(cmp).append(" :lastValue")
+            .append(" or (").append(key).append(" = :lastValue and i.id ").append(cmp).append(" :lastId))");
+      }
+    }
+    jpql.append(orderBy(sort, asc));
+
+    TypedQuery<ImageRow> q = em.createQuery(jpql.toString(), ImageRow.class).setMaxResults(limit);
+    bind(q, projectId, status, tags);
+    if (after != null) {
+      q.setParameter("lastId", after.id());
+      if (sort != ImageSort.ID) q.setParameter("lastValue", after.value());
+    }
+    return q.getResultList();
+  }
+
+  // 태그: image_tag 의 정확 일치. AND 는 태그마다 exists (PK(image_id, tag) 조회), OR 는 exists + in
+  private static String where(ImageStatus status, TagFilter tags) {
+    StringBuilder w = new StringBuilder(" where i.project.id = :projectId and i.softDelete = false");
+    if (status != null) w.append(" and i.status = :status");
+    if (tags != null) {
+      if (tags.all()) {
+        for (int n = 0; n < tags.tags().size(); n++) {
+          w.append(" and exists (select 1 from ImageTag t").append(n)
+           .append(" where t").append(n).append(".imageId = i.id and t").append(n).append(".projectId = :projectId")
+           .append(" and t").append(n).append(".tag = :tag").append(n).append(')');
+        }
+      } else {
+        w.append(" and exists (select 1 from ImageTag t where t.imageId = i.id and t.projectId = :projectId and t.tag in :tags)");
+      }
+    }
+    return w.toString();
+  }
+
+  private static String orderBy(ImageSort sort, boolean asc) {
+    String dir = asc ? "asc" : "desc";
+    return sort == ImageSort.ID
+        ? " order by i.id " + dir
+        : " order by i." + sort.field() + " " + dir + ", i.id " + dir;
+  }
+
+  private static void bind(Query q, Long projectId, ImageStatus status, TagFilter tags) {
+    q.setParameter("projectId", projectId);
+    if (status != null) q.setParameter("status", status);
+    if (tags != null) {
+      if (tags.all()) {
+        for (int n = 0; n < tags.tags().size(); n++) q.setParameter("tag" + n, tags.tags().get(n));
+      } else {
+        q.setParameter("tags", tags.tags());
+      }
+    }
+  }
+}
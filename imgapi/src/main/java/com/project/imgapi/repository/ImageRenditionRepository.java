@@ -0,0 +1,23 @@
+package com.project.imgapi.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.project.imgapi.dto.RenditionRow;
+import com.project.imgapi.entity.ImageRendition;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ImageRenditionRepository extends JpaRepository<ImageRendition, Long> {
+
+  List<ImageRendition> findByImageIdIn(Collection<Long> imageIds);
+
+  // 상세 조회용 프로젝션 (이미지별 폭 오름차순)
+  @Query("""
+    select new com.project.imgapi.dto.RenditionRow(r.image.id, r.width, r.height, r.objectKey)
+    from ImageRendition r where r.image.id in :imageIds order by r.image.id, r.width
+  """)
+  List<RenditionRow> findRowsByImageIdIn(@Param("imageIds") Collection<Long> imageIds);
+}
@@ -0,0 +1,8 @@
+package com.project.imgapi.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.project.imgapi.entity.ProjectStats;
+
+public interface ProjectStatsRepository extends JpaRepository<ProjectStats, Long> {
+}
@@ -0,0 +1,32 @@
+package com.project.imgapi.repository;
+
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+
+import com.project.imgapi.entity.ThumbnailJob;
+import com.project.imgapi.enums.ThumbnailJobStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ThumbnailJobRepository extends JpaRepository<ThumbnailJob, Long> {
+
+  // 실행 가능한 작업(대기 중 + lease 만료) 선점. 다른 인스턴스가 잠근 행은 건너뛴다.
+  // 프로젝트 간 공정성은 여기서 다루지 않는다 → 선점 뒤 ProjectFairQueue 가 프로젝트별로 돌려 가며 실행한다.
+  @Query(value = """
+    select * from thumbnail_job
+    where (status = 'PENDING' and next_attempt_at <= :now)
+       or (status = 'RUNNING' and lease_until < :now)
+    order by next_attempt_at, id
+    limit :limit
+    for update skip locked
+  """, nativeQuery = true)
+  List<ThumbnailJob> lockClaimable(@Param("now") Instant now, @Param("limit") int limit);
+
+  // 발행됐지만 끝나지 않은 작업 수 (AMQP 전달의 in-flight 상한, idx_thumbjob_status_lease)
+  long countByStatus(ThumbnailJobStatus status);
+
+  @Modifying
+  @Query("delete from ThumbnailJob j where j.id = :id and j.lockedBy = :owner")
+  int deleteOwned(@Param("id") Long id, @Param("owner") String owner);
+}
@@ -0,0 +1,34 @@
+package com.project.imgapi.service;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.project.imgapi.config.ImageCacheAmqpConfig;
+
+/**
+ * 노드 간 캐시 무효화: fanout 교환기로 "id:version" 을 보낸다.
+ * 본문은 컨버터 설정(썸네일 큐의 JSON 컨버터 등)과 무관하게 평문 바이트로 주고받는다.
+ */
+@Component
+@ConditionalOnProperty(name = "imgapi.detailCache.broadcast", havingValue = "amqp")
+public class AmqpImageCacheBroadcaster implements ImageCacheBroadcaster {
+
+    private final RabbitTemplate rabbit;
+
+    public AmqpImageCacheBroadcaster(RabbitTemplate rabbit) { this.rabbit = rabbit; }
+
+    @Override public void publish(Long imageId, long newVersion) {
+        byte[] body = (imageId + ":" + newVersion).getBytes(StandardCharsets.US_ASCII);
+        try {
+            rabbit.send(ImageCacheAmqpConfig.EXCHANGE, "", new Message(body, new MessageProperties()));
+        } catch (AmqpException ignored) {
+            // 브로커 장애로 못 보낸 무효화는 다른 노드에서 TTL 로 만료된다
+        }
+    }
+}
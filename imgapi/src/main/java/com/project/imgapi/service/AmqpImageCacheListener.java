@@ -0,0 +1,27 @@
+package com.project.imgapi.service;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** 다른 노드(와 자기 자신)가 보낸 상세 캐시 무효화 수신. 잘못된 본문은 버린다 (다시 받아도 같다). */
+@Component
+@ConditionalOnProperty(name = "imgapi.detailCache.broadcast", havingValue = "amqp")
+public class AmqpImageCacheListener {
+
+    private final ImageDetailCache cache;
+
+    public AmqpImageCacheListener(ImageDetailCache cache) { this.cache = cache; }
+
+    @RabbitListener(queues = "#{imageInvalidationQueue.name}")
+    public void onInvalidation(Message message) {
+        String[] p = new String(message.getBody(), StandardCharsets.US_ASCII).split(":", 2);
+        if (p.length != 2) return;
+        try {
+            cache.onRemoteInvalidation(Long.parseLong(p[0]), Long.parseLong(p[1]));
+        } catch (NumberFormatException ignored) {}
+    }
+}
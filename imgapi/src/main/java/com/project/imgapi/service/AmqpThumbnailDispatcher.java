@@ -0,0 +1,45 @@
+package com.project.imgapi.service;
+
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.project.imgapi.config.ThumbnailAmqpConfig;
+import com.project.imgapi.enums.ThumbnailJobStatus;
+import com.project.imgapi.repository.ThumbnailJobRepository;
+import com.project.imgapi.service.InlineImageBudget.InlineImage;
+import com.project.imgapi.service.ThumbnailOutbox.Claimed;
+
+/**
+ * RabbitMQ 전달. 메시지는 선점 정보(Claimed)뿐이고 원본 바이트는 싣지 않는다 → 워커는 스토리지에서 읽는다.
+ * 버퍼링은 브로커가 맡으므로 API 노드는 admission 을 막지 않는다.
+ *
+ * 폴러는 발행됐지만 끝나지 않은(RUNNING) 작업이 thumbnail.amqp.maxInFlight 개 미만일 때만 더 선점한다.
+ * 상한이 없으면 소비 속도와 무관하게 계속 발행하고, 브로커에서 lease 보다 오래 기다린 메시지는 재선점돼 중복 발행된다.
+ * maxInFlight / 워커 처리량 이 thumbnail.outbox.leaseSeconds 보다 충분히 작아야 한다.
+ */
+@Component
+@ConditionalOnProperty(name = "thumbnail.dispatch", havingValue = "amqp")
+public class AmqpThumbnailDispatcher implements ThumbnailDispatcher {
+
+    private final RabbitTemplate rabbit;
+    private final ThumbnailJobRepository jobRepo;
+    private final int maxInFlight;
+
+    public AmqpThumbnailDispatcher(RabbitTemplate rabbit, ThumbnailJobRepository jobRepo,
+                                   @Value("${thumbnail.amqp.maxInFlight:500}") int maxInFlight) {
+        this.rabbit = rabbit; this.jobRepo = jobRepo; this.maxInFlight = maxInFlight;
+    }
+
+    @Override public boolean canAccept(Long projectId, int jobs) { return true; }
+
+    @Override public int remainingCapacity() {
+        return (int) Math.max(0, maxInFlight - jobRepo.countByStatus(ThumbnailJobStatus.RUNNING));
+    }
+
+    @Override public void dispatch(Claimed job, InlineImage inline) {
+        if (inline != null) inline.release();
+        rabbit.convertAndSend(ThumbnailAmqpConfig.EXCHANGE, ThumbnailAmqpConfig.ROUTING_KEY, job);
+    }
+}
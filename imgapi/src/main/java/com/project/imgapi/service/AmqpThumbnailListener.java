@@ -0,0 +1,30 @@
+package com.project.imgapi.service;
+
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.project.imgapi.config.ThumbnailAmqpConfig;
+import com.project.imgapi.service.ThumbnailOutbox.Claimed;
+
+/**
+ * 워커 프로세스(thumbnail.amqp.consume=true)의 소비자.
+ * 일반 실패는 outbox 가 next_attempt_at 으로 재시도를 잡으므로 ack 하고,
+ * 재시도 한도를 넘긴 이미지(poison)와 역직렬화 불가 메시지는 DLQ 로 보낸다.
+ */
+@Component
+@ConditionalOnProperty(name = "thumbnail.amqp.consume", havingValue = "true")
+public class AmqpThumbnailListener {
+
+    private final ThumbnailService thumbnailService;
+
+    public AmqpThumbnailListener(ThumbnailService thumbnailService) { this.thumbnailService = thumbnailService; }
+
+    @RabbitListener(queues = ThumbnailAmqpConfig.QUEUE, containerFactory = "thumbnailListenerFactory")
+    public void onJob(Claimed job) {
+        if (thumbnailService.execute(job, null)) {
+            throw new AmqpRejectAndDontRequeueException("thumbnail job " + job.jobId() + " exhausted retries");
+        }
+    }
+}
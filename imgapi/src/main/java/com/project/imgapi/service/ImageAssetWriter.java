@@ -0,0 +1,92 @@
+package com.project.imgapi.service;
+
+import java.util.*;
+
+import org.springframework.stereotype.Component;
+import jakarta.transaction.Transactional;
+
+import com.project.imgapi.entity.ImageAsset;
+import com.project.imgapi.entity.Project;
+import com.project.imgapi.enums.ImageStatus;
+import com.project.imgapi.repository.ImageAssetRepository;
+import com.project.imgapi.repository.ImageAssetRepository.HashMatch;
+import com.project.imgapi.repository.ProjectRepository;
+import com.project.imgapi.service.InlineImageBudget.InlineImage;
+import com.project.imgapi.service.OriginalUploader.StoredOriginal;
+import com.project.imgapi.service.ProjectStatsWriter.Delta;
+import com.project.imgapi.service.ThumbnailOutbox.Claimed;
+
+/**
+ * 업로드 2단계: 이미 저장된 원본들의 메타데이터와 썸네일 작업(outbox)을 하나의 짧은 트랜잭션으로 일괄 insert.
+ * 스토리지 I/O 는 이 트랜잭션 밖(OriginalUploader)에서 끝난 상태여야 하고,
+ * 요청 내 중복은 OriginalUploader.findInRequestDuplicates 로 이미 걸러져 있어야 한다.
+ */
+@Component
+public class ImageAssetWriter {
+
+    public record InsertResult(List<ImageAsset> inserted, List<Integer> insertedIndexes, List<InlineImage> insertedInlines,
+                               List<Claimed> jobs, List<ExistingMatch> duplicates) {}
+    public record ExistingMatch(StoredOriginal original, Long existingId) {}
+
+    private final ImageAssetRepository imageAssetRepo;
+    private final ProjectRepository projectRepo;
+    private final ThumbnailOutbox outbox;
+    private final ProjectStatsWriter statsWriter;
+
+    public ImageAssetWriter(ImageAssetRepository imageAssetRepo, ProjectRepository projectRepo, ThumbnailOutbox outbox,
+                            ProjectStatsWriter statsWriter) {
+        this.imageAssetRepo = imageAssetRepo; this.projectRepo = projectRepo; this.outbox = outbox;
+        this.statsWriter = statsWriter;
+    }
+
+    @Transactional
+    public InsertResult insertAll(Long projectId, List<StoredOriginal> stored) {
+        Project project = projectRepo.getReferenceById(projectId);
+
+        // 중복 업로드 방지: 요청 전체 해시를 IN 한 번으로 조회 (최종 보장은 uk_project_hash)
+        Set<String> hashes = new HashSet<>();
+        for (StoredOriginal s : stored) hashes.add(s.contentHash());
+        Map<String, Long> existing = new HashMap<>();
+        if (!hashes.isEmpty()) {
+            for (HashMatch m : imageAssetRepo.findLiveHashes(projectId, hashes)) {
+                existing.putIfAbsent(m.getContentHash(), m.getId());
+            }
+        }
+
+        List<ImageAsset> rows = new ArrayList<>(stored.size());
+        List<Integer> indexes = new ArrayList<>(stored.size());
+        List<InlineImage> inlines = new ArrayList<>(stored.size());
+        List<ExistingMatch> duplicates = new ArrayList<>();
+        for (StoredOriginal s : stored) {
+            Long existingId = existing.get(s.contentHash());
+            if (existingId != null) {
+                duplicates.add(new ExistingMatch(s, existingId));
+                continue;
+            }
+            rows.add(toAsset(project, s));
+            indexes.add(s.index());
+            inlines.add(s.inline());
+        }
+        // 시퀀스 id 라 persist 시 insert 가 나가지 않고, flush 1회에 jdbc.batch_size 단위로 묶여 실행된다
+        imageAssetRepo.saveAll(rows);
+        // 썸네일 작업은 같은 트랜잭션으로 outbox 에 기록 (커밋되면 재시작해도 유실되지 않음)
+        List<Claimed> jobs = outbox.addClaimed(rows);
+        imageAssetRepo.flush();
+        long bytes = 0;
+        for (ImageAsset a : rows) bytes += a.getSizeBytes();
+        statsWriter.apply(projectId, Delta.of(ImageStatus.PROCESSING, rows.size(), bytes));
+        return new InsertResult(rows, indexes, inlines, jobs, duplicates);
+    }
+
+    private static ImageAsset toAsset(Project project, StoredOriginal s) {
+        ImageAsset a = new ImageAsset();
+        a.setProject(project);
+        a.setOriginalFilename(s.filename());
+        a.setContentType(s.contentType());
+        a.setSizeBytes(s.sizeBytes());
+        a.setContentHash(s.contentHash());
+        a.setObjectKey(s.objectKey());
+        a.setStatus(ImageStatus.PROCESSING);
+        return a;
+    }
+}
@@ -0,0 +1,12 @@
+package com.project.imgapi.service;
+
+/**
+ * 이미지 상세 캐시 무효화를 다른 노드에 알리는 방식 (imgapi.detailCache.broadcast).
+ * - none: 단일 노드 (기본값). 다른 노드의 캐시는 TTL 로만 맞춰진다
+ * - amqp: RabbitMQ fanout. 노드마다 임시 큐를 붙여 받는다
+ */
+public interface ImageCacheBroadcaster {
+
+    /** 커밋 후 호출된다. 실패해도 예외를 던지지 않는다 (TTL 이 안전망). */
+    void publish(Long imageId, long newVersion);
+}
@@ -0,0 +1,149 @@
+package com.project.imgapi.service;
+
+import java.time.Duration;
+import java.util.*;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import com.project.imgapi.dto.ImageDetailRow;
+import com.project.imgapi.dto.RenditionRow;
+import com.project.imgapi.repository.ImageAssetRepository;
+import com.project.imgapi.repository.ImageRenditionRepository;
+
+/**
+ * 이미지 상세(메타데이터 + 렌디션) 캐시. 키 = image id, 삭제되지 않은 이미지만 들어간다.
+ *
+ * 무효화는 커밋 후에 (id, 새 version) 으로: 로컬 항목을 지우고 ImageCacheBroadcaster 로 다른 노드에도 알린다.
+ * 커밋 전 스냅샷으로 읽던 요청이 지운 뒤에 옛 값을 넣지 못하도록 id 별 최소 version(floor)을 TTL 동안 기억하고,
+ * 그보다 낮은 version 은 캐시에 넣지 않는다. 방송이 유실돼도 항목은 ttlSeconds 뒤에 만료된다.
+ * 지표: cache.gets{cache=imageDetail,result=hit|miss}, cache.evictions, imgapi.detailCache.invalidations{source}
+ */
+@Component
+public class ImageDetailCache {
+
+    public record Entry(ImageDetailRow row, List<RenditionRow> renditions) {}
+
+    private final ImageAssetRepository imageAssetRepo;
+    private final ImageRenditionRepository renditionRepo;
+    private final ImageCacheBroadcaster broadcaster;
+    private final boolean enabled;
+    private final Cache<Long, Entry> cache;
+    private final Cache<Long, Long> floors;
+    private final Counter localInvalidations;
+    private final Counter remoteInvalidations;
+
+    public ImageDetailCache(ImageAssetRepository imageAssetRepo, ImageRenditionRepository renditionRepo,
+                            ImageCacheBroadcaster broadcaster,
+                            @Value("${imgapi.detailCache.maxSize:50000}") long maxSize,
+                            @Value("${imgapi.detailCache.ttlSeconds:60}") long ttlSeconds,
+                            MeterRegistry meterRegistry) {
+        this.imageAssetRepo = imageAssetRepo; this.renditionRepo = renditionRepo; this.broadcaster = broadcaster;
+        this.enabled = maxSize > 0 && ttlSeconds > 0;
+        Duration ttl = Duration.ofSeconds(Math.max(1, ttlSeconds));
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, maxSize))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // floor 는 무효화 시점에 읽기 시작한 요청의 put 만 막으면 되므로 항목과 같은 TTL 이면 충분하다
+        this.floors = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, maxSize))
+                .expireAfterWrite(ttl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "imageDetail");
+        this.localInvalidations = Counter.builder("imgapi.detailCache.invalidations").tag("source", "local").register(meterRegistry);
+        this.remoteInvalidations = Counter.builder("imgapi.detailCache.invalidations").tag("source", "remote").register(meterRegistry);
+    }
+
+    /** 단건. 없거나 삭제된 이미지면 empty (음수 캐시는 하지 않는다). */
+    public Optional<Entry> find(Long id) {
+        Entry hit = enabled ? cache.getIfPresent(id) : null;
+        if (hit != null) return Optional.of(hit);
+        Optional<ImageDetailRow> row = imageAssetRepo.findDetailRow(id);
+        if (row.isEmpty()) return Optional.empty();
+        Entry e = new Entry(row.get(), renditionRepo.findRowsByImageIdIn(List.of(id)));
+        put(e);
+        return Optional.of(e);
+    }
+
+    /** 여러 건. 캐시에 없는 것만 이미지 IN 1회 + 렌디션 IN 1회로 읽는다. 없는 id 는 결과에 없다. */
+    public Map<Long, Entry> findAll(Collection<Long> ids) {
+        Map<Long, Entry> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            Entry hit = enabled ? cache.getIfPresent(id) : null;
+            if (hit != null) found.put(id, hit); else misses.add(id);
+        }
+        if (misses.isEmpty()) return found;
+
+        List<ImageDetailRow> rows = imageAssetRepo.findDetailRows(misses);
+        if (rows.isEmpty()) return found;
+        Map<Long, List<RenditionRow>> renditions = new HashMap<>();
+        // 쿼리가 (image_id, width) 순이라 이미지별 폭 오름차순이 유지된다
+        for (RenditionRow r : renditionRepo.findRowsByImageIdIn(rows.stream().map(ImageDetailRow::id).toList())) {
+            renditions.computeIfAbsent(r.imageId(), k -> new ArrayList<>()).add(r);
+        }
+        for (ImageDetailRow row : rows) {
+            Entry e = new Entry(row, renditions.getOrDefault(row.id(), List.of()));
+            put(e);
+            found.put(row.id(), e);
+        }
+        return found;
+    }
+
+    /**
+     * 이미지가 바뀌었다 (newVersion = 변경 후 version). 트랜잭션 안이면 커밋 후에, 아니면 바로
+     * 로컬 항목을 지우고 다른 노드에 알린다.
+     */
+    public void invalidate(Long id, long newVersion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override public void afterCommit() { publish(id, newVersion); }
+            });
+        } else {
+            publish(id, newVersion);
+        }
+    }
+
+    /** 다른 노드에서 온 무효화 (자기 자신이 보낸 것도 다시 올 수 있다, 멱등). */
+    public void onRemoteInvalidation(Long id, long newVersion) {
+        evictLocal(id, newVersion);
+        remoteInvalidations.increment();
+    }
+
+    private void publish(Long id, long newVersion) {
+        evictLocal(id, newVersion);
+        localInvalidations.increment();
+        broadcaster.publish(id, newVersion);
+    }
+
+    // floor 를 먼저 올리고 지운다. put 은 같은 키의 compute 라 remove 와 직렬화되므로,
+    // remove 뒤의 put 은 올라간 floor 를 보고, 앞선 put 은 remove 에 지워진다.
+    private void evictLocal(Long id, long newVersion) {
+        if (!enabled) return;
+        floors.asMap().merge(id, newVersion, Math::max);
+        cache.asMap().remove(id);
+    }
+
+    private void put(Entry e) {
+        if (!enabled) return;
+        Long id = e.row().id();
+        long version = e.row().version() == null ? 0 : e.row().version();
+        cache.asMap().compute(id, (k, cur) -> {
+            Long floor = floors.getIfPresent(k);
+            if (floor != null && version < floor) return cur;
+            if (cur != null && cur.row().version() != null && cur.row().version() > version) return cur;
+            return e;
+        });
+    }
+}
@@ -0,0 +1,108 @@
+package com.project.imgapi.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.project.imgapi.dto.ImageDtos.ExportItem;
+import com.project.imgapi.enums.ImageStatus;
+
+/**
+ * 프로젝트 전체 이미지 NDJSON 내보내기 (검색 클러스터 동기화용).
+ *
+ * 한 쿼리를 forward-only 커서로 fetchSize 행씩 받아 한 줄씩 바로 쓴다 → 메모리는 프로젝트 크기와 무관.
+ * (PostgreSQL 은 autocommit 이 꺼져 있어야 fetchSize 단위로 가져오므로 readOnly 트랜잭션 안에서 읽는다)
+ * id 오름차순이라 끊기면 마지막으로 받은 id 를 after 로 넘겨 이어받는다.
+ * 내보내는 동안 커넥션 1개를 잡고 있으므로 동시 내보내기 수는 풀 크기 안에서 운영한다.
+ */
+@Service
+public class ImageExportService {
+
+    private static final String QUERY = """
+        select id, project_id, original_filename, content_type, size_bytes, content_hash, tags, memo, status,
+               object_key, thumbnail_key, created_at, updated_at, version
+        from image_asset
+        where project_id = ? and soft_delete = false and id > ?
+        order by id
+        """;
+
+    private final JdbcTemplate jdbc;
+    private final ObjectWriter writer;
+    private final int flushEvery;
+    private final Counter exportedRows;
+
+    public ImageExportService(DataSource dataSource, ObjectMapper objectMapper,
+                              @Value("${export.fetchSize:1000}") int fetchSize,
+                              @Value("${export.flushEveryRows:1000}") int flushEvery,
+                              MeterRegistry meterRegistry) {
+        // 내보내기 전용 설정 (공용 JdbcTemplate 의 fetchSize 는 건드리지 않는다)
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(fetchSize);
+        // 행마다 flush 하지 않고, 루트 값 사이 기본 구분자(공백) 대신 줄바꿈을 직접 쓴다
+        this.writer = objectMapper.writerFor(ExportItem.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .withRootValueSeparator("");
+        this.flushEvery = Math.max(1, flushEvery);
+        this.exportedRows = Counter.builder("imgapi.export.rows").register(meterRegistry);
+    }
+
+    /** afterId 보다 큰 id 부터 끝까지 out 에 한 줄씩. 클라이언트가 끊으면 UncheckedIOException 으로 쿼리도 멈춘다. */
+    @Transactional(readOnly = true)
+    public void export(Long projectId, long afterId, OutputStream out) throws IOException {
+        try (JsonGenerator gen = writer.getFactory().createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // 응답 스트림은 컨테이너가 닫는다
+            int[] pending = {0};
+            jdbc.query(con -> {
+                var ps = con.prepareStatement(QUERY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setLong(1, projectId);
+                ps.setLong(2, afterId);
+                return ps;
+            }, rs -> {
+                try {
+                    writer.writeValue(gen, toItem(rs));
+                    gen.writeRaw('\n');
+                    if (++pending[0] >= flushEvery) {
+                        gen.flush(); // 클라이언트가 진행 중에도 받아 가도록
+                        exportedRows.increment(pending[0]);
+                        pending[0] = 0;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            gen.flush();
+            exportedRows.increment(pending[0]);
+        }
+    }
+
+    private static ExportItem toItem(ResultSet rs) throws SQLException {
+        return new ExportItem(
+            rs.getLong("id"), rs.getLong("project_id"), rs.getString("original_filename"), rs.getString("content_type"),
+            rs.getLong("size_bytes"), rs.getString("content_hash"), rs.getString("tags"), rs.getString("memo"),
+            ImageStatus.valueOf(rs.getString("status")), rs.getString("object_key"), rs.getString("thumbnail_key"),
+            instant(rs.getTimestamp("created_at")), instant(rs.getTimestamp("updated_at")), rs.getLong("version"));
+    }
+
+    private static Instant instant(Timestamp t) {
+        return t == null ? null : t.toInstant();
+    }
+}
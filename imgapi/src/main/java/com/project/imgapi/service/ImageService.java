@@ -2,91 +2,146 @@ package com.project.imgapi.service;
 
 import java.io.*;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.*;
+import java.util.function.Supplier;
 
-import org.springframework.context.annotation.Lazy;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.project.imgapi.dto.Conditional;
+import com.project.imgapi.dto.ImageCursor;
+import com.project.imgapi.dto.ImageDetailRow;
+import com.project.imgapi.dto.ImageRow;
+import com.project.imgapi.dto.TagFilter;
 import com.project.imgapi.dto.ImageDtos.CursorList;
 import com.project.imgapi.dto.ImageDtos.Detail;
+import com.project.imgapi.dto.ImageDtos.DetailBatch;
+import com.project.imgapi.dto.ImageDtos.Duplicate;
 import com.project.imgapi.dto.ImageDtos.ListItem;
 import com.project.imgapi.dto.ImageDtos.OffsetList;
 import com.project.imgapi.dto.ImageDtos.PatchRequest;
+import com.project.imgapi.dto.ImageDtos.Rendition;
 import com.project.imgapi.dto.ImageDtos.UploadResponse;
 import com.project.imgapi.entity.ImageAsset;
-import com.project.imgapi.entity.Project;
+import com.project.imgapi.entity.ProjectStats;
+import com.project.imgapi.enums.ImageSort;
 import com.project.imgapi.enums.ImageStatus;
+import com.project.imgapi.enums.ListUrls;
 import com.project.imgapi.repository.ImageAssetRepository;
+import com.project.imgapi.repository.ProjectStatsRepository;
+import com.project.imgapi.service.ImageAssetWriter.ExistingMatch;
+import com.project.imgapi.service.ImageDetailCache.Entry;
+import com.project.imgapi.service.ImageAssetWriter.InsertResult;
+import com.project.imgapi.service.OriginalUploader.StoredOriginal;
+import com.project.imgapi.service.ProjectStatsWriter.Delta;
 import com.project.imgapi.storage.BlobStorage;
+import com.project.imgapi.storage.BlobStorage.PresignWindow;
+import com.project.imgapi.util.ETagUtil;
 import com.project.imgapi.util.HashUtil;
+import com.project.imgapi.util.TagUtil;
 
 @Service
 public class ImageService {
+    public static final int MAX_BATCH_IDS = 100;
+
     private final ImageAssetRepository imageAssetRepo;
+    private final ImageDetailCache detailCache;
     private final BlobStorage storage;
-    private final ThumbnailService thumbnailService;
+    private final ThumbnailDispatcher thumbnailDispatcher;
+    private final OriginalUploader originalUploader;
+    private final ImageAssetWriter imageAssetWriter;
+    private final ImageTagWriter imageTagWriter;
+    private final ProjectStatsRepository statsRepo;
+    private final ProjectStatsWriter statsWriter;
+    private final Timer storageTimer;
+    private final Timer dbTimer;
 
-    public ImageService(ImageAssetRepository repo, BlobStorage storage, @Lazy ThumbnailService thumbnailService) {
-        this.imageAssetRepo = repo; this.storage = storage; this.thumbnailService = thumbnailService;
+    public ImageService(ImageAssetRepository repo, ImageDetailCache detailCache, BlobStorage storage, ThumbnailDispatcher thumbnailDispatcher,
+                        OriginalUploader originalUploader, ImageAssetWriter imageAssetWriter, ImageTagWriter imageTagWriter,
+                        ProjectStatsRepository statsRepo, ProjectStatsWriter statsWriter, MeterRegistry meterRegistry) {
+        this.imageAssetRepo = repo; this.detailCache = detailCache; this.storage = storage; this.thumbnailDispatcher = thumbnailDispatcher;
+        this.originalUploader = originalUploader; this.imageAssetWriter = imageAssetWriter;
+        this.imageTagWriter = imageTagWriter;
+        this.statsRepo = statsRepo; this.statsWriter = statsWriter;
+        // 업로드 단계별 소요 시간. db 단계만 커넥션을 잡는다 (hikaricp.connections.usage 와 비교)
+        this.storageTimer = Timer.builder("imgapi.upload.stage").tag("stage", "storage").register(meterRegistry);
+        this.dbTimer = Timer.builder("imgapi.upload.stage").tag("stage", "db").register(meterRegistry);
     }    
 
-    @Transactional
+    /**
+     * 업로드는 단계별로 진행하며 스토리지 I/O 중에는 DB 커넥션을 잡지 않는다.
+     * 0) 요청 내 중복 제거  1) 원본 저장 (트랜잭션 밖, 병렬)
+     * 2) 기존 이미지와의 중복 판정(IN 1회) + 메타데이터 일괄 insert (짧은 트랜잭션)
+     * 3) 중복 객체 정리 + 썸네일 요청 (커밋 후)
+     *
+     * 해시는 저장하면서 계산되므로 기존 이미지와의 중복은 저장 이후에 판정되고, 그 객체는 3)에서 폐기된다.
+     */
     public UploadResponse upload(Long projectId, List<MultipartFile> files) {
         if (files == null || files.isEmpty()) throw new IllegalArgumentException("No files");
+        // 썸네일 대기열이 찼으면 저장 전에 거절 (역압)
+        if (!thumbnailDispatcher.canAccept(projectId, files.size())) throw new UploadRejectedException("thumbnail queue is full");
+
+        // 0) 같은 요청 안의 동일 파일은 저장 전에 접는다 (중복 index → 처음 나온 index)
+        Map<Integer, Integer> sameAs = originalUploader.findInRequestDuplicates(files);
+
+        // 1) 파일별 해시 + 원본 저장. 실패 시 저장된 객체는 OriginalUploader 가 정리
+        List<StoredOriginal> stored = storageTimer.record(() -> originalUploader.storeAll(projectId, files, sameAs.keySet()));
+
+        // 2) 메타데이터 insert. 실패 시 롤백 + 이번 요청의 객체 전부 삭제 (보상)
+        InsertResult result;
+        try {
+            result = dbTimer.record(() -> imageAssetWriter.insertAll(projectId, stored));
+        } catch (DataIntegrityViolationException e) {
+            originalUploader.discardAll(stored);
+            throw new RuntimeException(e);
+            // (project, hash) 유니크 충돌 → 중복 생성 0건 보장
+        } catch (RuntimeException ex) {
+            originalUploader.discardAll(stored);
+            throw ex;
+        }
+
+        // 3) 커밋 이후: 중복으로 판정된 객체 폐기, 썸네일 생성 요청
+        Map<Integer, Long> idByIndex = new HashMap<>();
+        List<Duplicate> duplicates = new ArrayList<>();
+        for (ExistingMatch m : result.duplicates()) {
+            originalUploader.discard(m.original());
+            idByIndex.put(m.original().index(), m.existingId());
+            duplicates.add(new Duplicate(m.original().index(), m.original().filename(), m.existingId()));
+        }
 
-        List<Long> ids = new ArrayList<>();
-
-        for (MultipartFile f : files) {
-            try (
-                InputStream forHash = f.getInputStream();
-                InputStream forPut  = f.getInputStream()
-            ) 
-            {
-                String hash = HashUtil.sha256Hex(forHash);
-                // 중복 업로드 방지 (DB 유니크 제약 + exists 체크)
-                if (imageAssetRepo.existsByProjectIdAndContentHashAndSoftDeleteFalse(projectId, hash)) {
-                    continue; // 혹은 예외로 처리해도 됨
-                }
-                String objectKey = storage.putObject("original/%d".formatted(projectId), safeType(f.getContentType()), f.getSize(), forPut);
-
-                ImageAsset a = new ImageAsset();
-                Project p = new Project(); p.setId(projectId); a.setProject(p);
-
-                a.setOriginalFilename(Objects.requireNonNullElse(f.getOriginalFilename(), "unnamed"));
-                a.setContentType(safeType(f.getContentType()));
-                a.setSizeBytes(f.getSize());
-                a.setContentHash(hash);
-                a.setObjectKey(objectKey);
-                a.setStatus(ImageStatus.PROCESSING);
-
-                imageAssetRepo.saveAndFlush(a);
-                ids.add(a.getId());
-
-                // 비동기 썸네일 생성 (지수 백오프, 최대 3회)
-                thumbnailService.generateAsync(a.getId());
-            } catch (DataIntegrityViolationException e) {
-                throw new RuntimeException(e);
-                // (project, hash) 유니크 충돌 → 중복 생성 0건 보장
-            } catch (IOException io) {
-                throw new RuntimeException(io);
-            }
-            catch (Exception ex) {
-                throw new RuntimeException(ex);
-            }
+        List<Long> ids = new ArrayList<>(result.inserted().size());
+        for (int i = 0; i < result.inserted().size(); i++) {
+            ImageAsset a = result.inserted().get(i);
+            ids.add(a.getId());
+            idByIndex.put(result.insertedIndexes().get(i), a.getId());
+            // 비동기 썸네일 생성 (outbox 에 이미 기록된 작업). 메모리에 있는 원본은 그대로 넘겨 GET 1회를 생략
+            thumbnailDispatcher.dispatch(result.jobs().get(i), result.insertedInlines().get(i));
         }
-        return new UploadResponse(ids);
+
+        for (Map.Entry<Integer, Integer> e : sameAs.entrySet()) {
+            int idx = e.getKey();
+            duplicates.add(new Duplicate(idx, Objects.requireNonNullElse(files.get(idx).getOriginalFilename(), "unnamed"),
+                    idByIndex.get(e.getValue())));
+        }
+        duplicates.sort(Comparator.comparingInt(Duplicate::index));
+        return new UploadResponse(ids, duplicates);
     }
 
     @Transactional
     public void softDelete(Long id) {
         ImageAsset a = imageAssetRepo.findByIdAndSoftDeleteFalse(id).orElseThrow(() -> new IllegalArgumentException("not found"));
+        ImageStatus from = a.getStatus();
         a.setSoftDelete(true);
         a.setStatus(ImageStatus.DELETED);
+        imageAssetRepo.flush(); // project_stats 재집계(네이티브 SQL)가 이 변경을 보도록, version 도 여기서 올라간다
+        statsWriter.apply(a.getProject().getId(), Delta.of(from, -1, -a.getSizeBytes()));
+        detailCache.invalidate(a.getId(), a.getVersion());
     }
 
     @Transactional
@@ -94,41 +149,169 @@ public class ImageService {
         ImageAsset a = imageAssetRepo.findByIdAndSoftDeleteFalse(id).orElseThrow(() -> new IllegalArgumentException("not found"));
         if (req.version()!=null && !req.version().equals(a.getVersion()))
         throw new org.springframework.dao.OptimisticLockingFailureException("version_conflict");
-        if (req.tags()!=null) a.setTags(req.tags());
+        if (req.tags()!=null) {
+            // 표시용 원문은 정규화된 값으로, 필터용 image_tag 는 같은 트랜잭션에서 교체
+            List<String> tags = TagUtil.normalize(req.tags());
+            a.setTags(tags.isEmpty() ? null : String.join(",", tags));
+            imageTagWriter.replace(a.getId(), a.getProject().getId(), tags);
+        }
         if (req.memo()!=null) a.setMemo(req.memo());
-        if (req.status()!=null) a.setStatus(req.status());
+        if (req.status()!=null && req.status()!=a.getStatus()) {
+            ImageStatus from = a.getStatus();
+            a.setStatus(req.status());
+            imageAssetRepo.flush();
+            statsWriter.apply(a.getProject().getId(), Delta.transition(from, req.status()));
+        }
+        imageAssetRepo.flush(); // 올라간 version 으로 무효화 (변경이 없으면 그대로)
+        detailCache.invalidate(a.getId(), a.getVersion());
     }
 
-    @Transactional
-    public Detail get(Long id, int presignExpirySeconds) {
-        ImageAsset a = imageAssetRepo.findByIdAndSoftDeleteFalse(id).orElseThrow(() -> new IllegalArgumentException("not found"));
-        URL orig = a.getObjectKey()==null? null : storage.presignGet(a.getObjectKey(), presignExpirySeconds);
-        URL thum = a.getThumbnailKey()==null? null : storage.presignGet(a.getThumbnailKey(), presignExpirySeconds);
+    /**
+     * 단건 조회 + 조건부 GET. 강한 ETag = (id, version, 만료, presign 버킷): 본문의 모든 값이 이 넷으로 정해진다.
+     * If-None-Match 가 맞으면 URL 서명 없이 304. 본문은 presign 버킷이 끝날 때까지 그대로 재사용해도 된다
+     * (그 동안 URL 의 남은 유효기간은 요청한 만료 이상).
+     */
+    // 조회 경로는 프로젝션 + readOnly 트랜잭션: Hibernate flush mode MANUAL, 엔티티 스냅샷/dirty checking 없음
+    @Transactional(readOnly = true)
+    public Conditional<Detail> get(Long id, int presignExpirySeconds, String ifNoneMatch) {
+        Entry e = detailCache.find(id).orElseThrow(() -> new IllegalArgumentException("not found"));
+        PresignWindow w = storage.presignWindow();
+        String etag = "\"%d-%d-%d-%d\"".formatted(id, e.row().version() == null ? 0 : e.row().version(), presignExpirySeconds, w.bucket());
+        long maxAge = Math.min(w.secondsLeft(), Math.max(0, presignExpirySeconds));
+        if (ETagUtil.matches(ifNoneMatch, etag)) return Conditional.notModified(etag, maxAge);
+        return new Conditional<>(etag, maxAge, toDetail(e, presignExpirySeconds));
+    }
+
+    /**
+     * 여러 건 상세 조회. 캐시에 없는 것만 이미지 IN 1회 + 렌디션 IN 1회, URL 서명은 그 뒤 한 번에.
+     * 결과는 요청 순서(중복 id 는 한 번), 없거나 삭제된 id 는 missing 으로.
+     */
+    @Transactional(readOnly = true)
+    public DetailBatch getMany(List<Long> ids, int presignExpirySeconds) {
+        if (ids == null || ids.isEmpty()) return new DetailBatch(List.of(), List.of());
+        Set<Long> wanted = new LinkedHashSet<>(ids);
+        if (wanted.size() > MAX_BATCH_IDS) throw new IllegalArgumentException("too many ids (max " + MAX_BATCH_IDS + ")");
+
+        Map<Long, Entry> found = detailCache.findAll(wanted);
+        List<Detail> items = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : wanted) {
+            Entry e = found.get(id);
+            if (e == null) { missing.add(id); continue; }
+            items.add(toDetail(e, presignExpirySeconds));
+        }
+        return new DetailBatch(items, missing);
+    }
+
+    private Detail toDetail(Entry e, int presignExpirySeconds) {
+        ImageDetailRow a = e.row();
+        URL orig = a.objectKey()==null? null : storage.presignGet(a.objectKey(), presignExpirySeconds);
+        URL thum = a.thumbnailKey()==null? null : storage.presignGet(a.thumbnailKey(), presignExpirySeconds);
+        List<Rendition> rs = e.renditions().stream()
+            .map(r -> new Rendition(r.width(), r.height(), storage.presignGet(r.objectKey(), presignExpirySeconds)))
+            .toList();
         return new Detail(
-            a.getId(), a.getProject().getId(), a.getOriginalFilename(), a.getContentType(), a.getSizeBytes(),
-            a.getTags(), a.getMemo(), a.getStatus(), orig, thum, a.getCreatedAt(), a.getUpdatedAt(), a.getVersion()
+            a.id(), a.projectId(), a.filename(), a.contentType(), a.sizeBytes(),
+            a.tags(), a.memo(), a.status(), orig, thum, rs, a.createdAt(), a.updatedAt(), a.version()
         );
     }
 
-    @Transactional
-    public OffsetList listOffset(Long projectId, ImageStatus status, String tags, int page, int size) {
-        Page<ImageAsset> p = imageAssetRepo.findPage(projectId, status, tags, PageRequest.of(page, Math.min(size, 100), Sort.by(Sort.Direction.DESC, "id")));
-        List<ListItem> items = p.getContent().stream().map(this::toItem).toList();
-        return new OffsetList(items, p.getTotalElements(), page, size);
+    /**
+     * offset 페이징. total 은
+     * - 태그 필터 없음: project_stats 에서 (count(*) 없음, 행이 아직 없으면 count 쿼리)
+     * - 태그 필터 + withTotal=false: 세지 않고 한 건 더 읽어 hasNext 만 (total = null)
+     * - 그 외: count 쿼리
+     * 약한 ETag 는 listETag 참고.
+     */
+    @Transactional(readOnly = true)
+    public Conditional<OffsetList> listOffset(Long projectId, ImageStatus status, TagFilter tags, int page, int size, boolean withTotal,
+                                              ImageSort sort, boolean asc, ListUrls urls, int presignExpirySeconds,
+                                              String ifNoneMatch) {
+        if (size < 1) throw new IllegalArgumentException("size must be >= 1");
+        if (page < 0) throw new IllegalArgumentException("page must be >= 0");
+        int limit = Math.min(size, 100);
+        int offset = page * limit;
+        if (tags != null && !withTotal) {
+            List<ImageRow> rows = imageAssetRepo.findRows(projectId, status, tags, sort, asc, offset, limit + 1);
+            boolean hasNext = rows.size() > limit;
+            if (hasNext) rows = rows.subList(0, limit);
+            List<ImageRow> pageRows = rows;
+            return conditionalList(rows, "o|" + page + "|" + size + "|" + hasNext, urls, presignExpirySeconds, ifNoneMatch,
+                () -> new OffsetList(toItems(pageRows, urls, presignExpirySeconds), null, page, size, hasNext));
+        }
+
+        Long total = tags == null ? statsTotal(projectId, status) : null;
+        if (total == null) total = imageAssetRepo.countRows(projectId, status, tags);
+        // total 이 집계값이라 실제 행 수와 어긋날 수 있으므로 범위 밖 페이지도 조회한다 (행을 숨기지 않게)
+        List<ImageRow> rows = imageAssetRepo.findRows(projectId, status, tags, sort, asc, offset, limit);
+        long count = total;
+        boolean hasNext = offset + rows.size() < total;
+        return conditionalList(rows, "o|" + page + "|" + size + "|" + total, urls, presignExpirySeconds, ifNoneMatch,
+            () -> new OffsetList(toItems(rows, urls, presignExpirySeconds), count, page, size, hasNext));
     }
 
-    @Transactional
-    public CursorList listCursor(Long projectId, ImageStatus status, String tags, Long cursor, int size) {
-        List<ImageAsset> rows = imageAssetRepo.scanDesc(projectId, status, tags, cursor, PageRequest.of(0, Math.min(size, 200)));
-        Long next = rows.isEmpty() ? null : rows.get(rows.size()-1).getId();
-        return new CursorList(rows.stream().map(this::toItem).toList(), next);
+    /** 상태별 이미지 수 (삭제되지 않은 것). 집계 행이 없으면 null. DELETED 상태는 나머지로 계산한다. */
+    private Long statsTotal(Long projectId, ImageStatus status) {
+        ProjectStats s = statsRepo.findById(projectId).orElse(null);
+        if (s == null) return null;
+        if (status == null) return s.getImageCount();
+        return switch (status) {
+            case PROCESSING -> s.getProcessingCount();
+            case READY -> s.getReadyCount();
+            case FAILED -> s.getFailedCount();
+            default -> s.getImageCount() - s.getProcessingCount() - s.getReadyCount() - s.getFailedCount();
+        };
     }
 
-    private static String safeType(String ct){ 
-        return ct==null? "application/octet-stream": ct; 
+    @Transactional(readOnly = true)
+    public Conditional<CursorList> listCursor(Long projectId, ImageStatus status, TagFilter tags, String cursor, int size,
+                                              ImageSort sort, boolean asc, ListUrls urls, int presignExpirySeconds,
+                                              String ifNoneMatch) {
+        ImageCursor after = cursor == null || cursor.isBlank() ? null : ImageCursor.decode(cursor);
+        if (after != null && (after.sort() != sort || after.asc() != asc)) {
+            throw new IllegalArgumentException("cursor does not match sort");
+        }
+        if (size < 1) throw new IllegalArgumentException("size must be >= 1");
+        int limit = Math.min(size, 200);
+        // 한 건 더 읽어 다음 페이지 유무를 판단 (마지막 페이지면 nextCursor = null)
+        List<ImageRow> rows = imageAssetRepo.scanKeyset(projectId, status, tags, sort, asc, after, limit + 1);
+        String next = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            next = ImageCursor.after(sort, asc, rows.get(limit - 1)).encode();
+        }
+        List<ImageRow> pageRows = rows;
+        String nextCursor = next;
+        return conditionalList(rows, "c|" + next, urls, presignExpirySeconds, ifNoneMatch,
+            () -> new CursorList(toItems(pageRows, urls, presignExpirySeconds), nextCursor));
     }
 
-    private ListItem toItem(ImageAsset a) {
-        return new ListItem(a.getId(), a.getOriginalFilename(), a.getStatus(), a.getTags(), a.getSizeBytes(), a.getCreatedAt());
+    /**
+     * 목록의 약한 ETag: 페이지 항목의 (id, version) + 페이지 상태(total/hasNext/nextCursor) + URL 옵션(+ presign 버킷).
+     * 쿼리는 실행되지만, 맞으면 URL 서명과 본문 직렬화를 생략하고 304. 목록은 자주 바뀌므로 매번 재검증(max-age 0).
+     */
+    private <T> Conditional<T> conditionalList(List<ImageRow> rows, String pageState, ListUrls urls, int presignExpirySeconds,
+                                               String ifNoneMatch, Supplier<T> body) {
+        StringBuilder sb = new StringBuilder(pageState).append('|').append(urls);
+        if (urls != ListUrls.NONE) sb.append('|').append(presignExpirySeconds).append('|').append(storage.presignWindow().bucket());
+        for (ImageRow r : rows) sb.append('|').append(r.id()).append(':').append(r.version());
+        byte[] digest = HashUtil.newSha256().digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+        String etag = "W/\"" + HashUtil.hex(Arrays.copyOf(digest, 16)) + "\"";
+        if (ETagUtil.matches(ifNoneMatch, etag)) return Conditional.notModified(etag, 0);
+        return new Conditional<>(etag, 0, body.get());
+    }
+
+    /** 페이지를 읽은 뒤 요청된 URL 만 한 번에 서명한다 (키는 행에 있으므로 추가 조회 없음). */
+    private List<ListItem> toItems(List<ImageRow> rows, ListUrls urls, int presignExpirySeconds) {
+        boolean thumb = urls == ListUrls.THUMBNAIL || urls == ListUrls.ALL;
+        boolean orig = urls == ListUrls.ALL;
+        List<ListItem> items = new ArrayList<>(rows.size());
+        for (ImageRow a : rows) {
+            URL thumbnailUrl = thumb && a.thumbnailKey() != null ? storage.presignGet(a.thumbnailKey(), presignExpirySeconds) : null;
+            URL originalUrl = orig && a.objectKey() != null ? storage.presignGet(a.objectKey(), presignExpirySeconds) : null;
+            items.add(new ListItem(a.id(), a.filename(), a.status(), a.tags(), a.sizeBytes(), a.createdAt(),
+                thumbnailUrl, originalUrl));
+        }
+        return items;
     }    
 }
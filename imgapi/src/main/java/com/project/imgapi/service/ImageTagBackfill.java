@@ -0,0 +1,66 @@
+package com.project.imgapi.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.project.imgapi.util.TagUtil;
+
+/**
+ * image_tag 도입 전 데이터 1회 이전: image_asset.tags → image_tag. (imgapi.tags.backfill=true 로 한 번 기동)
+ * id 구간별로 지우고 다시 넣으므로 중간에 멈춰도 다시 돌리면 된다.
+ * 길이 제한(TagUtil.MAX_TAG_LENGTH)이 생기기 전에 저장된 긴 태그는 image_tag 에 넣지 않고 로그만 남긴다
+ * (image_asset.tags 원문은 그대로라 표시에는 남고, 필터로만 찾을 수 없다).
+ */
+@Component
+@ConditionalOnProperty(name = "imgapi.tags.backfill", havingValue = "true")
+public class ImageTagBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageTagBackfill.class);
+    private static final int CHUNK = 1000;
+
+    private final JdbcTemplate jdbc;
+
+    public ImageTagBackfill(JdbcTemplate jdbc) { this.jdbc = jdbc; }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long lastId = 0;
+        long skipped = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbc.queryForList(
+                "select id, project_id, tags from image_asset where id > ? order by id limit ?", lastId, CHUNK);
+            if (rows.isEmpty()) break;
+            long fromId = lastId;
+            lastId = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+
+            List<Object[]> inserts = new ArrayList<>();
+            List<String> tooLong = new ArrayList<>();
+            for (Map<String, Object> r : rows) {
+                Object imageId = r.get("id");
+                tooLong.clear();
+                for (String t : TagUtil.normalize((String) r.get("tags"), tooLong::add)) {
+                    inserts.add(new Object[] { imageId, t, r.get("project_id") });
+                }
+                for (String t : tooLong) {
+                    log.warn("tag backfill: skipped tag longer than {} chars on image {}: {}...",
+                            TagUtil.MAX_TAG_LENGTH, imageId, t.substring(0, TagUtil.MAX_TAG_LENGTH));
+                }
+                skipped += tooLong.size();
+            }
+            jdbc.update("delete from image_tag where image_id > ? and image_id <= ?", fromId, lastId);
+            if (!inserts.isEmpty()) {
+                jdbc.batchUpdate("insert into image_tag (image_id, tag, project_id) values (?, ?, ?)", inserts);
+            }
+        }
+        if (skipped > 0) log.warn("tag backfill: {} oversize tags skipped", skipped);
+    }
+}
@@ -0,0 +1,29 @@
+package com.project.imgapi.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import jakarta.transaction.Transactional;
+
+/**
+ * image_tag 동기화. ImageAsset.tags 를 바꾸는 트랜잭션 안에서 호출한다.
+ */
+@Component
+public class ImageTagWriter {
+
+    private final JdbcTemplate jdbc;
+
+    public ImageTagWriter(JdbcTemplate jdbc) { this.jdbc = jdbc; }
+
+    /** 이미지의 태그를 tags(정규화된 값)로 교체. */
+    @Transactional
+    public void replace(Long imageId, Long projectId, List<String> tags) {
+        jdbc.update("delete from image_tag where image_id = ?", imageId);
+        if (tags.isEmpty()) return;
+        List<Object[]> args = new ArrayList<>(tags.size());
+        for (String t : tags) args.add(new Object[] { imageId, t, projectId });
+        jdbc.batchUpdate("insert into image_tag (image_id, tag, project_id) values (?, ?, ?)", args);
+    }
+}
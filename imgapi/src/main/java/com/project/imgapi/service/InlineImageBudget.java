@@ -0,0 +1,68 @@
+package com.project.imgapi.service;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 업로드 직후 원본 바이트를 메모리에 들고 썸네일 작업에 바로 넘기기 위한 예산.
+ * 파일당 상한(thumbnail.inlineMaxBytes)과 전체 상한(thumbnail.inlineBudgetBytes)을 넘으면
+ * 캡처하지 않고, 썸네일 작업은 스토리지에서 원본을 다시 읽는다.
+ */
+@Component
+public class InlineImageBudget {
+
+    /** 메모리에 보관 중인 원본. 썸네일 작업이 끝나면(또는 폐기 시) release 해야 한다. */
+    public final class InlineImage {
+        private final byte[] bytes;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private InlineImage(byte[] bytes) { this.bytes = bytes; }
+
+        /** release 이후에는 null. */
+        public byte[] bytes() { return released.get() ? null : bytes; }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) used.addAndGet(-bytes.length);
+        }
+    }
+
+    private final long maxBytesPerFile;
+    private final long budgetBytes;
+    private final AtomicLong used = new AtomicLong();
+
+    public InlineImageBudget(@Value("${thumbnail.inlineMaxBytes:8388608}") long maxBytesPerFile,
+                             @Value("${thumbnail.inlineBudgetBytes:268435456}") long budgetBytes,
+                             MeterRegistry meterRegistry) {
+        this.maxBytesPerFile = maxBytesPerFile;
+        this.budgetBytes = budgetBytes;
+        Gauge.builder("imgapi.thumbnail.inline.bytes", used, AtomicLong::get).register(meterRegistry);
+    }
+
+    /** 예산 안이면 파일을 한 번 읽어 메모리에 올린다. 아니면 null. */
+    public InlineImage tryCapture(MultipartFile f) throws IOException {
+        long size = f.getSize();
+        if (size <= 0 || size > maxBytesPerFile || !reserve(size)) return null;
+        try {
+            return new InlineImage(f.getBytes());
+        } catch (IOException | RuntimeException e) {
+            used.addAndGet(-size);
+            throw e;
+        }
+    }
+
+    private boolean reserve(long size) {
+        while (true) {
+            long cur = used.get();
+            if (cur + size > budgetBytes) return false;
+            if (used.compareAndSet(cur, cur + size)) return true;
+        }
+    }
+}
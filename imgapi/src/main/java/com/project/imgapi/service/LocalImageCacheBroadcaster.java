@@ -0,0 +1,12 @@
+package com.project.imgapi.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** 단일 노드: 로컬 캐시만 지우면 되므로 보낼 것이 없다. */
+@Component
+@ConditionalOnProperty(name = "imgapi.detailCache.broadcast", havingValue = "none", matchIfMissing = true)
+public class LocalImageCacheBroadcaster implements ImageCacheBroadcaster {
+
+    @Override public void publish(Long imageId, long newVersion) {}
+}
@@ -0,0 +1,29 @@
+package com.project.imgapi.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.project.imgapi.service.InlineImageBudget.InlineImage;
+import com.project.imgapi.service.ThumbnailOutbox.Claimed;
+
+/** 같은 JVM 전달: 전용 executor 의 프로젝트별 대기열로. 메모리 원본(inline)도 그대로 넘긴다. */
+@Component
+@ConditionalOnProperty(name = "thumbnail.dispatch", havingValue = "local", matchIfMissing = true)
+public class LocalThumbnailDispatcher implements ThumbnailDispatcher {
+
+    private final ThumbnailExecutor executor;
+    private final ThumbnailService thumbnailService;
+
+    public LocalThumbnailDispatcher(ThumbnailExecutor executor, ThumbnailService thumbnailService) {
+        this.executor = executor; this.thumbnailService = thumbnailService;
+    }
+
+    @Override public boolean canAccept(Long projectId, int jobs) { return executor.canAccept(projectId, jobs); }
+
+    @Override public int remainingCapacity() { return executor.remainingCapacity(); }
+
+    @Override public void dispatch(Claimed job, InlineImage inline) {
+        boolean queued = executor.submit(job.projectId(), () -> thumbnailService.execute(job, inline));
+        if (!queued && inline != null) inline.release(); // 거절: lease 만료 후 재선점 때는 스토리지에서 읽는다
+    }
+}
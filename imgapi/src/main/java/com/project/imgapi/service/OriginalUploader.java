@@ -0,0 +1,176 @@
+package com.project.imgapi.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import jakarta.annotation.PreDestroy;
+
+import com.project.imgapi.service.InlineImageBudget.InlineImage;
+import com.project.imgapi.storage.BlobStorage;
+import com.project.imgapi.util.HashUtil;
+import com.project.imgapi.util.HashingInputStream;
+
+/**
+ * 업로드 요청의 파일들을 가상 스레드에서 병렬로 해시 + 원본 저장한다.
+ *
+ * 동시성은 요청당 상한(upload.perRequestConcurrency)과 전체 상한(upload.globalConcurrency) 두 단계로 제한한다.
+ * 실패 규칙: 한 파일이라도 실패하면 아직 시작하지 않은 파일은 건너뛰고,
+ * 이미 저장된 객체는 모두 삭제한 뒤 예외를 던진다 (요청 단위 all-or-nothing).
+ */
+@Component
+public class OriginalUploader {
+
+    /** inline 은 썸네일 작업에 넘길 메모리 원본 (예산 초과 시 null). */
+    public record StoredOriginal(int index, String filename, String contentType, long sizeBytes,
+                                 String contentHash, String objectKey, InlineImage inline) {}
+
+    private final BlobStorage storage;
+    private final InlineImageBudget inlineBudget;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore globalPermits;
+    private final int perRequestConcurrency;
+
+    public OriginalUploader(BlobStorage storage, InlineImageBudget inlineBudget,
+                            @Value("${upload.perRequestConcurrency:4}") int perRequestConcurrency,
+                            @Value("${upload.globalConcurrency:64}") int globalConcurrency) {
+        this.storage = storage;
+        this.inlineBudget = inlineBudget;
+        this.perRequestConcurrency = Math.max(1, perRequestConcurrency);
+        this.globalPermits = new Semaphore(Math.max(1, globalConcurrency), true);
+    }
+
+    /**
+     * 같은 요청 안의 동일 파일을 저장 전에 찾는다. (중복 index → 처음 나온 index)
+     * 내용이 같으면 크기도 같으므로, 크기가 겹치는 파일만 미리 해시한다.
+     */
+    public Map<Integer, Integer> findInRequestDuplicates(List<MultipartFile> files) {
+        Map<Long, List<Integer>> bySize = new HashMap<>();
+        for (int i = 0; i < files.size(); i++) {
+            bySize.computeIfAbsent(files.get(i).getSize(), k -> new ArrayList<>()).add(i);
+        }
+        Map<Integer, Integer> duplicateOf = new HashMap<>();
+        for (List<Integer> sameSize : bySize.values()) {
+            if (sameSize.size() < 2) continue;
+            Map<String, Integer> firstByHash = new HashMap<>();
+            for (int idx : sameSize) {
+                try (var in = files.get(idx).getInputStream()) {
+                    Integer first = firstByHash.putIfAbsent(HashUtil.sha256Hex(in), idx);
+                    if (first != null) duplicateOf.put(idx, first);
+                } catch (IOException io) {
+                    throw new RuntimeException(io);
+                }
+            }
+        }
+        return duplicateOf;
+    }
+
+    /** 입력 순서대로 저장 결과를 돌려준다. skip 에 포함된 index 는 저장하지 않는다. */
+    public List<StoredOriginal> storeAll(Long projectId, List<MultipartFile> files, Set<Integer> skip) {
+        Semaphore requestPermits = new Semaphore(perRequestConcurrency);
+        AtomicBoolean aborted = new AtomicBoolean(false);
+
+        List<CompletableFuture<StoredOriginal>> futures = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            if (skip.contains(i)) continue;
+            int idx = i;
+            MultipartFile f = files.get(i);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return storeWithPermits(projectId, idx, f, requestPermits, aborted);
+                } catch (RuntimeException e) {
+                    aborted.set(true);
+                    throw e;
+                }
+            }, executor));
+        }
+        // 실패가 있어도 진행 중인 PUT 이 끝날 때까지 기다려야 정리할 키를 모두 알 수 있다
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+
+        List<StoredOriginal> stored = new ArrayList<>(files.size());
+        Throwable failure = null;
+        for (CompletableFuture<StoredOriginal> fu : futures) {
+            try {
+                StoredOriginal s = fu.join();
+                if (s != null) stored.add(s);
+            } catch (CompletionException e) {
+                if (failure == null) failure = e.getCause();
+            }
+        }
+        if (failure != null) {
+            discardAll(stored);
+            if (failure instanceof RuntimeException re) throw re;
+            throw new RuntimeException(failure);
+        }
+        return stored;
+    }
+
+    private StoredOriginal storeWithPermits(Long projectId, int idx, MultipartFile f,
+                                            Semaphore requestPermits, AtomicBoolean aborted) {
+        try {
+            requestPermits.acquire();
+            try {
+                globalPermits.acquire();
+                try {
+                    if (aborted.get()) return null;
+                    return store(projectId, idx, f);
+                } finally {
+                    globalPermits.release();
+                }
+            } finally {
+                requestPermits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private StoredOriginal store(Long projectId, int idx, MultipartFile f) {
+        String contentType = safeType(f.getContentType());
+        InlineImage inline = null;
+        try {
+            // 작은 파일은 한 번 읽어 메모리에 올리고, 그 바이트로 PUT + 해시 + 썸네일까지 처리
+            inline = inlineBudget.tryCapture(f);
+            InputStream source = inline != null ? new ByteArrayInputStream(inline.bytes()) : f.getInputStream();
+            try (HashingInputStream in = new HashingInputStream(source)) {
+                // 한 번의 읽기로 S3 업로드 + SHA-256 계산
+                String objectKey = storage.putObject("original/%d".formatted(projectId), contentType, f.getSize(), in);
+                return new StoredOriginal(idx, Objects.requireNonNullElse(f.getOriginalFilename(), "unnamed"),
+                        contentType, f.getSize(), in.sha256Hex(), objectKey, inline);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (inline != null) inline.release();
+            throw e instanceof IOException io ? new RuntimeException(io) : (RuntimeException) e;
+        }
+    }
+
+    public void discard(StoredOriginal s) {
+        if (s.inline() != null) s.inline().release();
+        discard(s.objectKey());
+    }
+
+    public void discard(String objectKey) {
+        if (objectKey == null) return;
+        try { storage.deleteObject(objectKey); } catch (Exception ignored) {}
+    }
+
+    public void discardAll(Collection<StoredOriginal> stored) {
+        for (StoredOriginal s : stored) discard(s);
+    }
+
+    static String safeType(String ct){ 
+        return ct==null? "application/octet-stream": ct; 
+    }
+
+    @PreDestroy
+    void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,169 @@
+package com.project.imgapi.service;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 프로젝트별 대기열 + deficit round-robin.
+ *
+ * - 대기 작업이 있는 프로젝트들을 링으로 돌면서 차례마다 quantum 개씩 꺼낸다 (작업 비용은 1로 본다).
+ *   한 프로젝트가 5만 건을 쌓아도 다른 프로젝트는 링 한 바퀴 안에 차례가 온다.
+ * - perProjectConcurrency: 한 프로젝트가 동시에 점유할 수 있는 워커 수 (0 = 제한 없음).
+ *   상한에 걸린 프로젝트는 차례를 넘기고, 다른 프로젝트가 없으면 워커는 기다린다.
+ * - capacity: 전체 대기 작업 상한. perProjectCapacity 는 admission(canAccept)에서만 본다.
+ */
+class ProjectFairQueue<T> {
+
+    record Polled<T>(Long projectId, T task) {}
+
+    private static final class Lane<T> {
+        final Long projectId;
+        final ArrayDeque<T> tasks = new ArrayDeque<>();
+        int deficit;
+        int running;
+        Lane(Long projectId) { this.projectId = projectId; }
+    }
+
+    private final int capacity;
+    private final int perProjectCapacity;
+    private final int perProjectConcurrency;
+    private final int quantum;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition ready = lock.newCondition();
+    private final Map<Long, Lane<T>> lanes = new HashMap<>();
+    private final ArrayDeque<Lane<T>> ring = new ArrayDeque<>(); // 대기 작업이 있는 프로젝트
+    private int size;
+    private int running;
+    private boolean closed;
+
+    ProjectFairQueue(int capacity, int perProjectCapacity, int perProjectConcurrency, int quantum) {
+        this.capacity = Math.max(1, capacity);
+        this.perProjectCapacity = perProjectCapacity > 0 ? Math.min(perProjectCapacity, this.capacity) : this.capacity;
+        this.perProjectConcurrency = perProjectConcurrency;
+        this.quantum = Math.max(1, quantum);
+    }
+
+    /** 전체 상한을 넘으면 false. */
+    boolean offer(Long projectId, T task) {
+        lock.lock();
+        try {
+            if (closed || size >= capacity) return false;
+            Lane<T> lane = lanes.computeIfAbsent(projectId, Lane::new);
+            if (lane.tasks.isEmpty()) ring.addLast(lane);
+            lane.tasks.addLast(task);
+            size++;
+            ready.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 다음 차례의 작업. 닫히면 null. 꺼낸 작업은 끝나면 반드시 done 을 불러야 한다. */
+    Polled<T> take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                if (closed) return null;
+                Polled<T> p = pollEligible();
+                if (p != null) return p;
+                ready.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Polled<T> pollEligible() {
+        for (int i = 0, n = ring.size(); i < n; i++) {
+            Lane<T> lane = ring.peekFirst();
+            if (perProjectConcurrency > 0 && lane.running >= perProjectConcurrency) {
+                // 동시 실행 상한: 이번 차례는 넘긴다
+                lane.deficit = 0;
+                ring.addLast(ring.pollFirst());
+                continue;
+            }
+            if (lane.deficit <= 0) lane.deficit += quantum; // 새 차례
+            T task = lane.tasks.pollFirst();
+            lane.deficit--;
+            lane.running++;
+            running++;
+            size--;
+            if (lane.tasks.isEmpty()) {
+                ring.pollFirst();
+                lane.deficit = 0;
+            } else if (lane.deficit <= 0) {
+                ring.addLast(ring.pollFirst());
+            }
+            return new Polled<>(lane.projectId, task);
+        }
+        return null;
+    }
+
+    void done(Long projectId) {
+        lock.lock();
+        try {
+            Lane<T> lane = lanes.get(projectId);
+            if (lane == null) return;
+            lane.running--;
+            running--;
+            if (lane.running == 0 && lane.tasks.isEmpty()) lanes.remove(projectId);
+            else if (!lane.tasks.isEmpty()) ready.signal(); // 상한 때문에 기다리던 워커
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** admission: 전체와 프로젝트별 대기 상한 모두 jobs 개 여유가 있는지. */
+    boolean canAccept(Long projectId, int jobs) {
+        lock.lock();
+        try {
+            if (capacity - size < jobs) return false;
+            Lane<T> lane = lanes.get(projectId);
+            int queued = lane == null ? 0 : lane.tasks.size();
+            return perProjectCapacity - queued >= jobs;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int remainingCapacity() {
+        lock.lock();
+        try { return capacity - size; } finally { lock.unlock(); }
+    }
+
+    int size() {
+        lock.lock();
+        try { return size; } finally { lock.unlock(); }
+    }
+
+    int running() {
+        lock.lock();
+        try { return running; } finally { lock.unlock(); }
+    }
+
+    /** 대기 작업이 있는 프로젝트 수. */
+    int queuedProjects() {
+        lock.lock();
+        try { return ring.size(); } finally { lock.unlock(); }
+    }
+
+    boolean isClosed() {
+        lock.lock();
+        try { return closed; } finally { lock.unlock(); }
+    }
+
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            ready.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
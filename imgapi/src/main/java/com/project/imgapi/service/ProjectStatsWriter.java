@@ -0,0 +1,84 @@
+package com.project.imgapi.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import jakarta.transaction.Transactional;
+
+import com.project.imgapi.enums.ImageStatus;
+
+/**
+ * project_stats 증감. 이미지 변경과 같은 트랜잭션에서, 변경이 DB 에 반영(flush)된 뒤 호출한다.
+ *
+ * 행이 없으면 image_asset 을 재집계해 만든다 (insert ... on conflict do nothing).
+ * 재집계에는 이 트랜잭션의 변경이 이미 들어 있으므로 그때는 delta 를 더하지 않는다.
+ * 다른 트랜잭션이 먼저 만들었으면 (충돌로 0건) 그 행에 delta 를 더한다. 그쪽 재집계는 커밋 전인 이쪽 행을 세지 않았다.
+ * project 행은 잠그지 않는다: image_asset insert 의 FK 검사가 잡는 FOR KEY SHARE 와 FOR UPDATE 가 서로 기다려 교착된다.
+ * (기존 데이터도 첫 갱신 때 이렇게 채워진다)
+ */
+@Component
+public class ProjectStatsWriter {
+
+    /** 증감값. DELETED 상태의 살아 있는 이미지는 imageCount 에만 들어간다. */
+    public record Delta(long images, long processing, long ready, long failed, long bytes) {
+        public static final Delta ZERO = new Delta(0, 0, 0, 0, 0);
+
+        /** status 인 이미지 count 개(음수면 빠짐), bytes 합. */
+        public static Delta of(ImageStatus status, long count, long bytes) {
+            return new Delta(count,
+                status == ImageStatus.PROCESSING ? count : 0,
+                status == ImageStatus.READY ? count : 0,
+                status == ImageStatus.FAILED ? count : 0,
+                bytes);
+        }
+
+        /** 상태만 바뀐 경우 (이미지 수/용량 그대로). */
+        public static Delta transition(ImageStatus from, ImageStatus to) {
+            if (from == to) return ZERO;
+            return of(to, 1, 0).plus(of(from, -1, 0));
+        }
+
+        public Delta plus(Delta o) {
+            return new Delta(images + o.images, processing + o.processing, ready + o.ready, failed + o.failed, bytes + o.bytes);
+        }
+
+        public boolean isZero() {
+            return images == 0 && processing == 0 && ready == 0 && failed == 0 && bytes == 0;
+        }
+    }
+
+    private static final String UPDATE = """
+        update project_stats
+        set image_count = image_count + ?, processing_count = processing_count + ?, ready_count = ready_count + ?,
+            failed_count = failed_count + ?, total_bytes = total_bytes + ?
+        where project_id = ?
+        """;
+
+    private static final String RECOUNT = """
+        insert into project_stats (project_id, image_count, processing_count, ready_count, failed_count, total_bytes)
+        select ?, count(*),
+               count(case when status = 'PROCESSING' then 1 end),
+               count(case when status = 'READY' then 1 end),
+               count(case when status = 'FAILED' then 1 end),
+               coalesce(sum(size_bytes), 0)
+        from image_asset
+        where project_id = ? and soft_delete = false
+        on conflict (project_id) do nothing
+        """;
+
+    private final JdbcTemplate jdbc;
+
+    public ProjectStatsWriter(JdbcTemplate jdbc) { this.jdbc = jdbc; }
+
+    @Transactional
+    public void apply(Long projectId, Delta d) {
+        if (d.isZero()) return;
+        if (update(projectId, d) > 0) return;
+        // 동시에 만들려던 트랜잭션은 유니크 충돌로 먼저 만든 쪽의 커밋을 기다렸다가 0건 → update 로 간다
+        if (jdbc.update(RECOUNT, projectId, projectId) > 0) return;
+        update(projectId, d);
+    }
+
+    private int update(Long projectId, Delta d) {
+        return jdbc.update(UPDATE, d.images(), d.processing(), d.ready(), d.failed(), d.bytes(), projectId);
+    }
+}
@@ -0,0 +1,23 @@
+package com.project.imgapi.service;
+
+import com.project.imgapi.service.InlineImageBudget.InlineImage;
+import com.project.imgapi.service.ThumbnailOutbox.Claimed;
+
+/**
+ * 선점된 썸네일 작업을 워커에게 전달하는 방식 (thumbnail.dispatch).
+ * - local: 같은 JVM 의 ThumbnailExecutor (기본값, 브로커 없이 동작)
+ * - amqp : RabbitMQ 큐로 발행 → 별도 워커 프로세스가 소비 (디코드 CPU 를 API 노드와 독립적으로 확장)
+ *
+ * 어느 쪽이든 작업의 내구성은 outbox 가 보장한다. 전달에 실패해도 lease 가 만료되면 다시 발행된다.
+ */
+public interface ThumbnailDispatcher {
+
+    /** 업로드 admission: 이 프로젝트의 작업 jobs 개를 더 받을 수 있는지. */
+    boolean canAccept(Long projectId, int jobs);
+
+    /** outbox 폴러가 이번에 선점해도 되는 작업 수. */
+    int remainingCapacity();
+
+    /** inline 은 전달 방식에 따라 쓰이거나 즉시 반환된다. */
+    void dispatch(Claimed job, InlineImage inline);
+}
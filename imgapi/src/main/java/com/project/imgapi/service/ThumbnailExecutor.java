@@ -0,0 +1,119 @@
+package com.project.imgapi.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PreDestroy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import com.project.imgapi.service.ProjectFairQueue.Polled;
+
+/**
+ * 썸네일 디코드 전용 executor.
+ *
+ * - 워커 수: thumbnail.workers (0 이면 CPU 코어 수). 디코드/리사이즈가 CPU 작업이라 코어 수 이상은 의미 없다.
+ * - 대기열: 프로젝트별 대기열을 deficit round-robin 으로 돈다 (ProjectFairQueue).
+ *   한 프로젝트의 대량 업로드가 다른 프로젝트의 썸네일을 뒤로 밀지 않는다.
+ *   전체 상한 thumbnail.queueCapacity, 프로젝트별 상한 thumbnail.perProjectQueueCapacity,
+ *   프로젝트별 동시 실행 상한 thumbnail.perProjectConcurrency (0 = 제한 없음).
+ * - 역압: 업로드는 canAccept 로 먼저 확인하고 여유가 없으면 503 으로 거절한다.
+ *   확인 이후 경합으로 큐가 찬 경우에는 거절하고 돌아간다 (호출 스레드에서 디코드하지 않는다).
+ *   작업은 outbox 에 남아 있으므로 lease 가 만료되면 다시 선점된다.
+ * - 지표: imgapi.thumbnail.queue.depth / active / wait / run / rejected,
+ *   프로젝트별 대기 시간 imgapi.thumbnail.project.wait{project}
+ *   (thumbnail.metrics.maxProjects 를 넘는 프로젝트는 project=other 로 합쳐진다, ThumbnailMetricsConfig)
+ */
+@Component
+public class ThumbnailExecutor {
+
+    public static final String PROJECT_WAIT = "imgapi.thumbnail.project.wait";
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailExecutor.class);
+
+    private record Task(Runnable job, long enqueuedAt) {}
+
+    private final ProjectFairQueue<Task> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private final MeterRegistry meterRegistry;
+    private final Timer waitTimer;
+    private final Timer runTimer;
+    private final Counter rejected;
+
+    public ThumbnailExecutor(@Value("${thumbnail.workers:0}") int workers,
+                             @Value("${thumbnail.queueCapacity:1000}") int queueCapacity,
+                             @Value("${thumbnail.perProjectQueueCapacity:0}") int perProjectQueueCapacity,
+                             @Value("${thumbnail.perProjectConcurrency:0}") int perProjectConcurrency,
+                             @Value("${thumbnail.fair.quantum:1}") int quantum,
+                             MeterRegistry meterRegistry) {
+        int n = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.queue = new ProjectFairQueue<>(queueCapacity, perProjectQueueCapacity, perProjectConcurrency, quantum);
+        this.meterRegistry = meterRegistry;
+        this.rejected = Counter.builder("imgapi.thumbnail.rejected").register(meterRegistry);
+        this.waitTimer = Timer.builder("imgapi.thumbnail.wait").register(meterRegistry);
+        this.runTimer = Timer.builder("imgapi.thumbnail.run").register(meterRegistry);
+        Gauge.builder("imgapi.thumbnail.queue.depth", queue, ProjectFairQueue::size).register(meterRegistry);
+        Gauge.builder("imgapi.thumbnail.queue.remaining", queue, ProjectFairQueue::remainingCapacity).register(meterRegistry);
+        Gauge.builder("imgapi.thumbnail.queue.projects", queue, ProjectFairQueue::queuedProjects).register(meterRegistry);
+        Gauge.builder("imgapi.thumbnail.active", queue, ProjectFairQueue::running).register(meterRegistry);
+
+        Thread.Builder factory = Thread.ofPlatform().name("thumb-", 0).daemon(true);
+        for (int i = 0; i < n; i++) {
+            this.workers.add(factory.start(this::work));
+        }
+    }
+
+    /** 업로드 admission: 이 프로젝트에 jobs 개를 더 넣을 자리가 있는지. */
+    public boolean canAccept(Long projectId, int jobs) {
+        return queue.canAccept(projectId, jobs);
+    }
+
+    /** 큐가 찼거나 종료 중이면 false. 작업은 outbox lease 가 만료되면 다시 선점된다 (종료 중이면 다른 인스턴스가). */
+    public boolean submit(Long projectId, Runnable job) {
+        if (queue.offer(projectId, new Task(job, System.nanoTime()))) return true;
+        if (!queue.isClosed()) rejected.increment();
+        return false;
+    }
+
+    /** outbox 폴러가 이번에 가져갈 수 있는 작업 수. */
+    public int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    private void work() {
+        while (true) {
+            Polled<Task> p;
+            try {
+                p = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (p == null) return;
+            try {
+                long waited = System.nanoTime() - p.task().enqueuedAt();
+                waitTimer.record(waited, TimeUnit.NANOSECONDS);
+                Timer.builder(PROJECT_WAIT).tag("project", String.valueOf(p.projectId())).register(meterRegistry)
+                        .record(waited, TimeUnit.NANOSECONDS);
+                runTimer.record(p.task().job());
+            } catch (RuntimeException e) {
+                log.warn("thumbnail task failed", e);
+            } finally {
+                queue.done(p.projectId());
+            }
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        queue.close();
+        workers.forEach(Thread::interrupt);
+    }
+}
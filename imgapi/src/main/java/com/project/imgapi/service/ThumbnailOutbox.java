@@ -0,0 +1,163 @@
+package com.project.imgapi.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import jakarta.transaction.Transactional;
+
+import com.project.imgapi.entity.ImageAsset;
+import com.project.imgapi.entity.ThumbnailJob;
+import com.project.imgapi.enums.ImageStatus;
+import com.project.imgapi.enums.ThumbnailJobStatus;
+import com.project.imgapi.repository.ImageAssetRepository;
+import com.project.imgapi.repository.ThumbnailJobRepository;
+
+/**
+ * thumbnail_job outbox 의 상태 전이.
+ *
+ * - 업로드: ImageAsset 과 같은 트랜잭션에서 이 인스턴스가 이미 선점한(RUNNING) 작업으로 기록 → 바로 로컬 실행.
+ *   프로세스가 죽으면 lease 만료 후 아무 인스턴스나 다시 가져간다.
+ * - 폴링: SELECT ... FOR UPDATE SKIP LOCKED 로 여러 인스턴스가 겹치지 않게 배치 선점.
+ * - 실행 시작(start): lease 를 새로 잡고 attempts + 1. 선점마다 소유 토큰(locked_by)이 달라서,
+ *   lease 만료로 다시 선점된 작업의 묵은 전달(브로커에 남아 있던 메시지 등)은 여기서 걸러져 실행되지 않는다.
+ *   선점/재선점만으로는 attempts 가 늘지 않는다.
+ * - 실패: next_attempt_at = now + retryDelay * 2^(attempts-1), maxAttempts 를 넘으면 DEAD + 이미지 FAILED.
+ */
+@Component
+public class ThumbnailOutbox {
+
+    /**
+     * 선점된 작업 (트랜잭션 밖으로 넘기는 값, AMQP 메시지 본문). attempt 는 1부터.
+     * owner 는 이 선점의 소유 토큰(locked_by = 인스턴스 id + 선점 번호). 다른 프로세스의 워커가 실행해도 이 값으로 결과를 보고한다.
+     * attempt 는 선점 시점까지 시작된 실행 수 + 1 (이번 실행이 몇 번째인지).
+     */
+    public record Claimed(Long jobId, Long imageId, Long projectId, int attempt, String owner) {}
+
+    private final ThumbnailJobRepository jobRepo;
+    private final ImageAssetRepository imageAssetRepo;
+    private final JdbcTemplate jdbc;
+    private final ProjectStatsWriter statsWriter;
+    private final ImageDetailCache detailCache;
+    private final String instanceId;
+    private final AtomicLong claimSeq = new AtomicLong();
+    private final Duration lease;
+    private final int maxAttempts;
+    private final long retryDelayMs;
+
+    public ThumbnailOutbox(ThumbnailJobRepository jobRepo, ImageAssetRepository imageAssetRepo, JdbcTemplate jdbc,
+                           ProjectStatsWriter statsWriter, ImageDetailCache detailCache,
+                           @Value("${spring.application.name:imgapi}") String appName,
+                           @Value("${thumbnail.outbox.leaseSeconds:300}") long leaseSeconds,
+                           @Value("${thumbnail.outbox.maxAttempts:3}") int maxAttempts,
+                           @Value("${thumbnail.outbox.retryDelayMs:1000}") long retryDelayMs) {
+        this.jobRepo = jobRepo; this.imageAssetRepo = imageAssetRepo; this.jdbc = jdbc;
+        this.statsWriter = statsWriter; this.detailCache = detailCache;
+        this.instanceId = appName + "-" + UUID.randomUUID();
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMs = retryDelayMs;
+    }
+
+    /** 업로드 트랜잭션 안에서 호출. 새 작업을 이 인스턴스 소유로 기록한다. */
+    @Transactional
+    public List<Claimed> addClaimed(List<ImageAsset> assets) {
+        Instant now = Instant.now();
+        List<ThumbnailJob> jobs = new ArrayList<>(assets.size());
+        for (ImageAsset a : assets) {
+            ThumbnailJob j = new ThumbnailJob();
+            j.setImageId(a.getId());
+            j.setProjectId(a.getProject().getId());
+            j.setNextAttemptAt(now);
+            lease(j, now);
+            jobs.add(j);
+        }
+        jobRepo.saveAll(jobs);
+        return jobs.stream().map(ThumbnailOutbox::toClaimed).toList();
+    }
+
+    @Transactional
+    public List<Claimed> claim(int limit) {
+        if (limit <= 0) return List.of();
+        Instant now = Instant.now();
+        List<ThumbnailJob> jobs = jobRepo.lockClaimable(now, limit);
+        for (ThumbnailJob j : jobs) lease(j, now);
+        return jobs.stream().map(ThumbnailOutbox::toClaimed).toList();
+    }
+
+    /**
+     * 실행 직전에 호출. 아직 이 선점이 유효하면 lease 를 now + leaseSeconds 로 갱신하고 attempts 를 올린다.
+     * false 면 lease 가 만료돼 다른 선점으로 넘어간(또는 끝난) 작업이므로 실행하지 않는다.
+     */
+    @Transactional
+    public boolean start(Claimed job) {
+        return jdbc.update("""
+            update thumbnail_job set attempts = attempts + 1, lease_until = ?
+            where id = ? and locked_by = ? and status = 'RUNNING'
+            """, Timestamp.from(Instant.now().plus(lease)), job.jobId(), job.owner()) == 1;
+    }
+
+    /** 성공. 결과 기록과 같은 트랜잭션에서 호출한다 (JDBC 배치). lease 를 잃었으면 다른 인스턴스 몫이라 건드리지 않는다. */
+    @Transactional
+    public void doneAll(List<Claimed> jobs) {
+        if (jobs.isEmpty()) return;
+        List<Object[]> args = new ArrayList<>(jobs.size());
+        for (Claimed job : jobs) args.add(new Object[] { job.jobId(), job.owner() });
+        jdbc.batchUpdate("delete from thumbnail_job where id = ? and locked_by = ?", args);
+    }
+
+    /** 이미지가 삭제돼 더 할 일이 없는 작업. */
+    @Transactional
+    public void drop(Claimed job) {
+        jobRepo.deleteOwned(job.jobId(), job.owner());
+    }
+
+    /** 실패 기록. 재시도 한도를 넘겨 DEAD 가 되었으면 true. */
+    @Transactional
+    public boolean failed(Claimed job, Throwable error) {
+        ThumbnailJob j = jobRepo.findById(job.jobId()).orElse(null);
+        if (j == null || !job.owner().equals(j.getLockedBy())) return false;
+
+        j.setLastError(truncate(String.valueOf(error), 1000));
+        j.setLeaseUntil(null);
+        j.setLockedBy(null);
+        if (j.getAttempts() >= maxAttempts) {
+            j.setStatus(ThumbnailJobStatus.DEAD);
+            // project_stats 증감용 이전 상태 + 상세 캐시 무효화용 version (이미 삭제된 이미지면 없음)
+            List<Map<String, Object>> from = jdbc.queryForList(
+                "select status, version from image_asset where id = ? and soft_delete = false for update", j.getImageId());
+            imageAssetRepo.updateStatus(j.getImageId(), ImageStatus.FAILED, Instant.now());
+            if (!from.isEmpty()) {
+                ImageStatus old = ImageStatus.valueOf((String) from.get(0).get("status"));
+                statsWriter.apply(j.getProjectId(), ProjectStatsWriter.Delta.transition(old, ImageStatus.FAILED));
+                detailCache.invalidate(j.getImageId(), ((Number) from.get(0).get("version")).longValue() + 1);
+            }
+            return true;
+        }
+        j.setStatus(ThumbnailJobStatus.PENDING);
+        j.setNextAttemptAt(Instant.now().plusMillis(retryDelayMs << (j.getAttempts() - 1)));
+        return false;
+    }
+
+    private void lease(ThumbnailJob j, Instant now) {
+        j.setStatus(ThumbnailJobStatus.RUNNING);
+        j.setLeaseUntil(now.plus(lease));
+        j.setLockedBy(instanceId + "#" + claimSeq.incrementAndGet());
+    }
+
+    private static Claimed toClaimed(ThumbnailJob j) {
+        return new Claimed(j.getId(), j.getImageId(), j.getProjectId(), j.getAttempts() + 1, j.getLockedBy());
+    }
+
+    private static String truncate(String s, int max) {
+        return s.length() <= max ? s : s.substring(0, max);
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.imgapi.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.project.imgapi.service.ThumbnailOutbox.Claimed;
+
+/**
+ * 재시도 대기/lease 만료 작업을 주기적으로 선점해 dispatcher 로 넘긴다.
+ * 로컬 전달이면 executor 의 남은 자리만큼만 가져가므로, 처리 못 할 작업을 잡아 두지 않고 다른 인스턴스에 양보한다.
+ */
+@Component
+@ConditionalOnProperty(name = "thumbnail.outbox.pollEnabled", havingValue = "true", matchIfMissing = true)
+public class ThumbnailOutboxPoller {
+
+    private final ThumbnailOutbox outbox;
+    private final ThumbnailDispatcher dispatcher;
+    private final int batchSize;
+
+    public ThumbnailOutboxPoller(ThumbnailOutbox outbox, ThumbnailDispatcher dispatcher,
+                                 @Value("${thumbnail.outbox.batchSize:50}") int batchSize) {
+        this.outbox = outbox; this.dispatcher = dispatcher;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${thumbnail.outbox.pollMs:200}")
+    public void poll() {
+        int free = Math.min(batchSize, dispatcher.remainingCapacity());
+        for (Claimed job : outbox.claim(free)) {
+            dispatcher.dispatch(job, null);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.project.imgapi.service;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import jakarta.transaction.Transactional;
+
+import com.project.imgapi.entity.ImageRendition;
+import com.project.imgapi.enums.ImageStatus;
+import com.project.imgapi.repository.ImageAssetRepository;
+import com.project.imgapi.repository.ImageRenditionRepository;
+import com.project.imgapi.service.ProjectStatsWriter.Delta;
+import com.project.imgapi.service.ThumbnailOutbox.Claimed;
+
+/**
+ * 썸네일 작업 결과(렌디션 + 상태 전이 + outbox 완료)를 여러 건 묶어 한 트랜잭션으로 기록한다.
+ * 호출은 ThumbnailStatusBatcher 가 모아서 한다.
+ */
+@Component
+public class ThumbnailResultWriter {
+
+    public record StoredRendition(int width, int height, String objectKey) {}
+
+    /** 작업 1건의 결과. primaryKey 는 기존 thumbnailKey(512px) 호환용. */
+    public record Completion(Claimed job, List<StoredRendition> renditions, String primaryKey) {}
+
+    // 엔티티를 읽지 않고 두 컬럼만 바꾼다. version 을 올려 그 사이 읽어 간 PATCH 는 낙관적 락 충돌이 나게 한다 (@Version 의미 유지)
+    private static final String UPDATE_READY = """
+        update image_asset set status = ?, thumbnail_key = ?, version = version + 1, updated_at = ?
+        where id = ? and soft_delete = false
+        """;
+
+    private final ImageAssetRepository imageAssetRepo;
+    private final ImageRenditionRepository renditionRepo;
+    private final ThumbnailOutbox outbox;
+    private final ProjectStatsWriter statsWriter;
+    private final ImageDetailCache detailCache;
+    private final JdbcTemplate jdbc;
+
+    public ThumbnailResultWriter(ImageAssetRepository imageAssetRepo, ImageRenditionRepository renditionRepo,
+                                 ThumbnailOutbox outbox, ProjectStatsWriter statsWriter, ImageDetailCache detailCache,
+                                 JdbcTemplate jdbc) {
+        this.imageAssetRepo = imageAssetRepo; this.renditionRepo = renditionRepo; this.outbox = outbox;
+        this.statsWriter = statsWriter; this.detailCache = detailCache; this.jdbc = jdbc;
+    }
+
+    /**
+     * READY 전이(JDBC 배치 UPDATE) + 렌디션 교체 + outbox 작업 완료.
+     * 결과는 batch 순서대로, 커밋 후 스토리지에서 지울 objectKey 목록:
+     * 재시도로 덮어쓴 이전 렌디션, 또는 그 사이 삭제된 이미지면 방금 올린 렌디션.
+     */
+    @Transactional
+    public List<List<String>> completeAll(List<Completion> batch) {
+        // project_stats 증감용 이전 상태와 상세 캐시 무효화용 version (행 잠금, 배치당 1회)
+        Map<Long, Delta> statsDelta = new HashMap<>();
+        Map<Long, Long> versions = new HashMap<>();
+        String in = String.join(",", Collections.nCopies(batch.size(), "?"));
+        jdbc.query("select id, project_id, status, version from image_asset where soft_delete = false and id in (" + in + ") for update",
+            rs -> {
+                ImageStatus from = ImageStatus.valueOf(rs.getString("status"));
+                statsDelta.merge(rs.getLong("project_id"), Delta.transition(from, ImageStatus.READY), Delta::plus);
+                versions.put(rs.getLong("id"), rs.getLong("version"));
+            },
+            batch.stream().map(c -> c.job().imageId()).toArray());
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (Completion c : batch) {
+            args.add(new Object[] { ImageStatus.READY.name(), c.primaryKey(), now, c.job().imageId() });
+        }
+        int[] updated = jdbc.batchUpdate(UPDATE_READY, args);
+
+        List<Long> liveIds = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (updated[i] > 0 || updated[i] == Statement.SUCCESS_NO_INFO) liveIds.add(batch.get(i).job().imageId());
+        }
+
+        // 이전 렌디션은 한 번에 읽고 한 번에 지운다 (unique(image_id, width) 때문에 insert 보다 먼저)
+        Map<Long, List<String>> replaced = new HashMap<>();
+        if (!liveIds.isEmpty()) {
+            List<ImageRendition> old = renditionRepo.findByImageIdIn(liveIds);
+            for (ImageRendition r : old) {
+                replaced.computeIfAbsent(r.getImage().getId(), k -> new ArrayList<>()).add(r.getObjectKey());
+            }
+            renditionRepo.deleteAllInBatch(old);
+        }
+
+        Set<Long> live = new HashSet<>(liveIds);
+        List<ImageRendition> rows = new ArrayList<>();
+        List<List<String>> discard = new ArrayList<>(batch.size());
+        for (Completion c : batch) {
+            Long imageId = c.job().imageId();
+            if (!live.contains(imageId)) {
+                discard.add(c.renditions().stream().map(StoredRendition::objectKey).toList());
+                continue;
+            }
+            for (StoredRendition s : c.renditions()) {
+                ImageRendition r = new ImageRendition();
+                r.setImage(imageAssetRepo.getReferenceById(imageId));
+                r.setWidth(s.width());
+                r.setHeight(s.height());
+                r.setObjectKey(s.objectKey());
+                rows.add(r);
+            }
+            discard.add(replaced.getOrDefault(imageId, List.of()));
+        }
+        renditionRepo.saveAll(rows);
+
+        outbox.doneAll(batch.stream().map(Completion::job).toList());
+        statsDelta.forEach(statsWriter::apply);
+        for (Long id : liveIds) detailCache.invalidate(id, versions.getOrDefault(id, 0L) + 1); // UPDATE 가 version + 1
+        return discard;
+    }
+}
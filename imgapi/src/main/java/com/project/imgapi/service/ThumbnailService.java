@@ -1,89 +1,185 @@
 package com.project.imgapi.service;
 
 import javax.imageio.ImageIO;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import com.project.imgapi.entity.ImageAsset;
+import com.project.imgapi.dto.ImageDetailRow;
 import com.project.imgapi.storage.BlobStorage;
-import com.project.imgapi.enums.ImageStatus;
+import com.project.imgapi.service.InlineImageBudget.InlineImage;
+import com.project.imgapi.service.ThumbnailOutbox.Claimed;
+import com.project.imgapi.service.ThumbnailResultWriter.StoredRendition;
+import com.project.imgapi.util.ImageDecodeUtil;
 
-import jakarta.transaction.Transactional;
-
-import com.project.imgapi.repository.ImageAssetRepository;
+import jakarta.annotation.PreDestroy;
 
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.*;
-import java.net.URL;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
 public class ThumbnailService {
 
-  private final ImageAssetRepository imageAssetRepo;
+  private final ImageDetailCache detailCache;
   private final BlobStorage storage;
+  private final ThumbnailStatusBatcher statusBatcher;
+  private final ThumbnailOutbox outbox;
+  private final ExecutorService uploadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+  private final int[] widths;        // 내림차순
+  private final int primaryWidth;    // thumbnailKey 로 노출할 렌디션 폭
+
+  public ThumbnailService(ImageDetailCache detailCache, BlobStorage storage, ThumbnailStatusBatcher statusBatcher,
+                          ThumbnailOutbox outbox,
+                          @Value("${thumbnail.renditionWidths:128,256,512,1024}") int[] widths,
+                          @Value("${thumbnail.primaryWidth:512}") int primaryWidth) {
+    this.detailCache = detailCache; this.storage = storage; this.statusBatcher = statusBatcher;
+    this.outbox = outbox;
+    this.widths = Arrays.stream(widths).filter(w -> w > 0).distinct().boxed()
+        .sorted(Comparator.reverseOrder()).mapToInt(Integer::intValue).toArray();
+    if (this.widths.length == 0) throw new IllegalArgumentException("thumbnail.renditionWidths is empty");
+    this.primaryWidth = primaryWidth;
+  }
 
-  public ThumbnailService(ImageAssetRepository imageAssetRepo, BlobStorage storage) {
-    this.imageAssetRepo = imageAssetRepo; this.storage = storage;
+  /**
+   * 선점된 outbox 작업 1건을 현재 스레드에서 실행하고 결과를 outbox 에 보고한다. (ThumbnailDispatcher 의 소비 측)
+   * 시작 시 lease 를 갱신하고, 이미 다른 선점으로 넘어간 묵은 전달이면 실행하지 않는다 (false, AMQP 면 그냥 ack).
+   * 실패하면 지수 백오프 뒤 (아무 인스턴스에서나) 재시도되고, 한도를 넘으면 FAILED → true 반환.
+   * inline: 업로드 직후 메모리에 있는 원본. 작업이 끝나면 반환하고, 재시도는 스토리지에서 읽는다.
+   */
+  public boolean execute(Claimed job, InlineImage inline) {
+    try {
+      if (!outbox.start(job)) return false;
+      run(job, inline);
+      return false;
+    } catch (Exception e) {
+      return outbox.failed(job, e);
+    } finally {
+      if (inline != null) inline.release();
+    }
   }
 
-  @Async
-  @Retryable(maxAttempts = 3, backoff = @Backoff(delay = 1000, multiplier = 2.0))
-  public void generateAsync(Long imageId) {
-    ImageAsset a = findEntity(imageId).orElseThrow();
+  void run(Claimed job, InlineImage inline) throws Exception {
+    // 메타데이터는 상세 캐시에서 (재시도 때 DB 재조회 없음). 삭제 여부는 결과 기록 시 DB 에서 다시 확인된다
+    Optional<ImageDetailRow> found = detailCache.find(job.imageId()).map(ImageDetailCache.Entry::row);
+    if (found.isEmpty()) { // 그 사이 삭제된 이미지
+      outbox.drop(job);
+      return;
+    }
+    ImageDetailRow a = found.get();
+
+    // 1) 가장 큰 렌디션에 맞춰 한 번만 (서브샘플링) 디코드
+    BufferedImage src = decode(a, inline, widths[0]);
+    if (src == null) throw new IOException("unsupported image");
+
+    // 2) 큰 폭부터 단계적으로 축소 → 3) 렌디션별 인코딩 + 업로드 병렬
+    List<StoredRendition> stored = uploadAll(a.projectId(), renderCascade(src));
+
+    List<String> replaced;
     try {
-      // 원본 다운로드
-      URL url = storage.presignGet(a.getObjectKey(), 300);
-      BufferedImage src;
+      replaced = statusBatcher.complete(job, stored, primaryKey(stored));
+    } catch (RuntimeException e) {
+      stored.forEach(r -> discard(r.objectKey()));
+      throw e;
+    }
+    replaced.forEach(this::discard);
+  }
 
-      try (InputStream in = url.openStream()) {
-        src = ImageIO.read(in);
-      }
-      
-      if (src == null) throw new IOException("unsupported image");
-
-      // 썸네일 생성(가로 512 기준)
-      int w = src.getWidth(), h = src.getHeight();
-      int tw = 512, th = (int)Math.max(1, (double)h * tw / w);
-      BufferedImage out = new BufferedImage(tw, th, BufferedImage.TYPE_INT_RGB);
-      java.awt.Graphics2D g = out.createGraphics();
-      g.drawImage(src, 0, 0, tw, th, null); g.dispose();
-
-      // 업로드
-      try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-        ImageIO.write(out, "jpg", baos);
-        byte[] bytes = baos.toByteArray();
-        try (InputStream tin = new ByteArrayInputStream(bytes)) {
-          String key = storage.putObject("thumbnail/%d".formatted(a.getProject().getId()),"image/jpeg", bytes.length, tin);
-          setThumbnailReady(imageId, key);
-        }
-      }
-    } catch (Exception e) {
-        setThumbnailFailed(imageId);
-        throw new RuntimeException(e);
+  private BufferedImage decode(ImageDetailRow a, InlineImage inline, int targetWidth) throws IOException {
+    byte[] inlineBytes = inline == null ? null : inline.bytes();
+    // 썸네일 크기에 맞춰 서브샘플링 디코드 (전체 해상도 디코드 X)
+    if (inlineBytes != null) {
+      return ImageDecodeUtil.readSubsampled(new ByteArrayInputStream(inlineBytes), targetWidth);
+    }
+    // 원본 다운로드 (S3Client 커넥션 풀 재사용, presign 서명/URLConnection 없음)
+    try (InputStream in = storage.openRead(a.objectKey())) {
+      BufferedImage src = ImageDecodeUtil.readSubsampled(in, targetWidth);
+      in.transferTo(OutputStream.nullOutputStream()); // 남은 바이트를 비워야 커넥션이 풀로 돌아간다
+      return src;
     }
   }
 
-  
-  @Transactional
-  public Optional<ImageAsset> findEntity(Long id){ 
-      return imageAssetRepo.findByIdAndSoftDeleteFalse(id); 
+  /**
+   * 설정된 폭마다 직전(한 단계 큰) 결과에서 축소한다. 원본보다 큰 폭은 만들지 않으며,
+   * 원본이 가장 작은 폭보다도 작으면 원본 크기 그대로 한 장만 만든다.
+   */
+  List<BufferedImage> renderCascade(BufferedImage src) {
+    List<BufferedImage> out = new ArrayList<>();
+    BufferedImage prev = src;
+    for (int tw : widths) {
+      if (tw > src.getWidth()) continue;
+      BufferedImage r = scale(prev, tw);
+      out.add(r);
+      prev = r;
+    }
+    if (out.isEmpty()) out.add(scale(src, src.getWidth()));
+    return out;
+  }
+
+  private static BufferedImage scale(BufferedImage src, int tw) {
+    int th = (int)Math.max(1, (double)src.getHeight() * tw / src.getWidth());
+    BufferedImage out = new BufferedImage(tw, th, BufferedImage.TYPE_INT_RGB);
+    java.awt.Graphics2D g = out.createGraphics();
+    g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+    g.drawImage(src, 0, 0, tw, th, null); g.dispose();
+    return out;
+  }
+
+  /** 렌디션별 JPEG 인코딩 + 업로드를 병렬로. 하나라도 실패하면 올라간 것들을 지우고 예외. */
+  private List<StoredRendition> uploadAll(Long projectId, List<BufferedImage> renditions) {
+    List<CompletableFuture<StoredRendition>> futures = new ArrayList<>(renditions.size());
+    for (BufferedImage r : renditions) {
+      futures.add(CompletableFuture.supplyAsync(() -> upload(projectId, r), uploadExecutor));
+    }
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+
+    List<StoredRendition> stored = new ArrayList<>(futures.size());
+    Throwable failure = null;
+    for (CompletableFuture<StoredRendition> f : futures) {
+      try { stored.add(f.join()); }
+      catch (CompletionException e) { if (failure == null) failure = e.getCause(); }
+    }
+    if (failure != null) {
+      stored.forEach(r -> discard(r.objectKey()));
+      if (failure instanceof RuntimeException re) throw re;
+      throw new RuntimeException(failure);
+    }
+    return stored;
   }
 
-  @Transactional
-  public void setThumbnailReady(Long id, String thumbnailKey){
-      ImageAsset a = imageAssetRepo.findByIdAndSoftDeleteFalse(id).orElseThrow();
+  private StoredRendition upload(Long projectId, BufferedImage img) {
+    try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      ImageIO.write(img, "jpg", baos);
+      byte[] bytes = baos.toByteArray();
+      try (InputStream tin = new ByteArrayInputStream(bytes)) {
+        String key = storage.putObject("thumbnail/%d/w%d".formatted(projectId, img.getWidth()), "image/jpeg", bytes.length, tin);
+        return new StoredRendition(img.getWidth(), img.getHeight(), key);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
 
-      a.setThumbnailKey(thumbnailKey);
-      a.setStatus(ImageStatus.READY);
+  /** primaryWidth 이하 중 가장 큰 렌디션, 없으면 가장 작은 렌디션. */
+  private String primaryKey(List<StoredRendition> stored) {
+    StoredRendition best = null, smallest = null;
+    for (StoredRendition r : stored) {
+      if (r.width() <= primaryWidth && (best == null || r.width() > best.width())) best = r;
+      if (smallest == null || r.width() < smallest.width()) smallest = r;
+    }
+    return (best != null ? best : smallest).objectKey();
   }
 
-  @Transactional
-  public void setThumbnailFailed(Long id){
-      ImageAsset a = imageAssetRepo.findByIdAndSoftDeleteFalse(id).orElseThrow();
+  private void discard(String objectKey) {
+    try { storage.deleteObject(objectKey); } catch (Exception ignored) {}
+  }
 
-      a.setStatus(ImageStatus.FAILED);
+  @PreDestroy
+  void close() {
+    uploadExecutor.close();
   }
 }
@@ -0,0 +1,129 @@
+package com.project.imgapi.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PreDestroy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.project.imgapi.service.ThumbnailOutbox.Claimed;
+import com.project.imgapi.service.ThumbnailResultWriter.Completion;
+import com.project.imgapi.service.ThumbnailResultWriter.StoredRendition;
+
+/**
+ * 썸네일 완료 기록 write-behind.
+ *
+ * 작업마다 트랜잭션 + ImageAsset 재조회를 하던 것을, thumbnail.statusBatch.lingerMs 동안 모아
+ * 한 트랜잭션(JDBC 배치 UPDATE)으로 기록한다. 최대 thumbnail.statusBatch.maxSize 건씩.
+ *
+ * - 내구성: complete 는 커밋될 때까지 기다렸다가 돌아온다. 커밋 전에 프로세스가 죽으면
+ *   outbox 작업이 남아 있으므로 lease 만료 후 다시 실행된다.
+ * - 배치가 실패하면 한 건 때문에 전부 재시도되지 않도록 건별 트랜잭션으로 다시 기록한다.
+ * - 지표: imgapi.thumbnail.status.batch (배치 크기), imgapi.thumbnail.status.fallback
+ */
+@Component
+public class ThumbnailStatusBatcher {
+
+    private record Pending(Completion completion, CompletableFuture<List<String>> result) {}
+
+    private final ThumbnailResultWriter writer;
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final long lingerNanos;
+    private final int maxSize;
+    private final DistributionSummary batchSize;
+    private final Counter fallbacks;
+    private final Thread flusher;
+    private final Object lifecycle = new Object(); // stopped 확인 + 적재 / 정지 를 한 덩어리로
+    private volatile boolean stopped;
+
+    public ThumbnailStatusBatcher(ThumbnailResultWriter writer,
+                                  @Value("${thumbnail.statusBatch.lingerMs:5}") long lingerMs,
+                                  @Value("${thumbnail.statusBatch.maxSize:200}") int maxSize,
+                                  MeterRegistry meterRegistry) {
+        this.writer = writer;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        this.maxSize = Math.max(1, maxSize);
+        this.batchSize = DistributionSummary.builder("imgapi.thumbnail.status.batch").register(meterRegistry);
+        this.fallbacks = Counter.builder("imgapi.thumbnail.status.fallback").register(meterRegistry);
+        this.flusher = Thread.ofPlatform().name("thumb-status").daemon(true).start(this::loop);
+    }
+
+    /** 결과를 기록하고 커밋 후 스토리지에서 지울 objectKey 를 돌려준다. (ThumbnailResultWriter.completeAll 참고) */
+    public List<String> complete(Claimed job, List<StoredRendition> renditions, String primaryKey) {
+        Pending p = new Pending(new Completion(job, renditions, primaryKey), new CompletableFuture<>());
+        // close 와 엇갈려 flusher 가 큐를 비우고 끝난 뒤에 넣으면 아무도 완료시키지 않는다 → 같은 락 아래에서 확인하고 넣는다.
+        // 정지 전에 들어간 건 flusher 가 기록하거나 종료 시 실패로 완료한다.
+        synchronized (lifecycle) {
+            if (stopped) throw new IllegalStateException("status batcher is stopped");
+            queue.add(p);
+        }
+        try {
+            return p.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    private void loop() {
+        List<Pending> batch = new ArrayList<>(maxSize);
+        while (!stopped) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxSize) {
+                    long left = deadline - System.nanoTime();
+                    Pending next = left > 0 ? queue.poll(left, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // 종료: 모은 것까지는 기록한다
+            }
+            if (!batch.isEmpty()) flush(batch);
+            batch.clear();
+        }
+        queue.drainTo(batch);
+        batch.forEach(p -> p.result().completeExceptionally(new IllegalStateException("status batcher is stopped")));
+    }
+
+    private void flush(List<Pending> batch) {
+        batchSize.record(batch.size());
+        try {
+            List<List<String>> discard = writer.completeAll(batch.stream().map(Pending::completion).toList());
+            for (int i = 0; i < batch.size(); i++) batch.get(i).result().complete(discard.get(i));
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            fallbacks.increment();
+        }
+        for (Pending p : batch) {
+            try {
+                p.result().complete(writer.completeAll(List.of(p.completion())).get(0));
+            } catch (RuntimeException e) {
+                p.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    @PreDestroy
+    void close() throws InterruptedException {
+        synchronized (lifecycle) {
+            stopped = true;
+        }
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+    }
+}
@@ -0,0 +1,10 @@
+package com.project.imgapi.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** 썸네일 파이프라인이 포화 상태라 업로드를 받지 않음 (클라이언트는 잠시 후 재시도). */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class UploadRejectedException extends RuntimeException {
+    public UploadRejectedException(String message) { super(message); }
+}
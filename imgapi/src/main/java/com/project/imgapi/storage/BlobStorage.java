@@ -5,6 +5,16 @@ import java.net.URL;
 
 public interface BlobStorage {
   String putObject(String keyHint, String contentType, long size, InputStream in);
+  /** 객체 본문 스트림. 호출자가 닫아야 하며, 끝까지 읽고 닫으면 커넥션이 풀로 반환된다. */
+  InputStream openRead(String key);
   void deleteObject(String key);
   URL presignGet(String key, int expirySeconds);
+
+  /** presignGet 이 같은 URL 을 돌려주는 구간: bucket 이 같으면 같은 URL, secondsLeft 초 뒤에 바뀐다. */
+  record PresignWindow(long bucket, long secondsLeft) {}
+
+  /** 기본값은 재사용 없음 (매 초 다른 URL). */
+  default PresignWindow presignWindow() {
+    return new PresignWindow(System.currentTimeMillis() / 1000, 0);
+  }
 }
@@ -0,0 +1,67 @@
+package com.project.imgapi.storage;
+
+import java.net.URL;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * presigned URL 캐시. 키 = (objectKey, 요청 만료, 시간 버킷).
+ *
+ * 시간을 reuseSeconds 단위 버킷으로 자르고, 버킷 시작 시각으로 서명하면서 만료를 reuseSeconds 만큼 늘린다.
+ * → 같은 버킷 안에서는 (노드와 무관하게) 같은 URL 이 나오고, 언제 받아 가도 남은 유효기간이 요청한 만료 이상이다.
+ * 버킷이 바뀌면 키가 달라지므로 지난 항목은 expireAfterWrite / maximumSize 로 밀려난다.
+ * 지표: cache.gets{cache=presignedUrl,result=hit|miss}, cache.evictions ...
+ */
+final class PresignedUrlCache {
+
+    interface Signer {
+        URL sign(String objectKey, Instant signingTime, int expiresSeconds);
+    }
+
+    private record Key(String objectKey, int expirySeconds, long bucket) {}
+
+    private final Signer signer;
+    private final long reuseSeconds;
+    private final Clock clock;
+    private final Cache<Key, URL> cache;
+
+    /** reuseSeconds 가 0 이면 캐시 없이 매번 현재 시각으로 서명한다. */
+    PresignedUrlCache(Signer signer, long reuseSeconds, long maxSize, MeterRegistry meterRegistry, Clock clock) {
+        this.signer = signer;
+        this.reuseSeconds = Math.max(0, reuseSeconds);
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(Math.max(1, this.reuseSeconds)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "presignedUrl");
+    }
+
+    URL get(String objectKey, int expirySeconds) {
+        if (reuseSeconds == 0) return signer.sign(objectKey, clock.instant(), expirySeconds);
+        return cache.get(new Key(objectKey, expirySeconds, bucket()), k -> signer.sign(
+                k.objectKey(),
+                Instant.ofEpochSecond(k.bucket() * reuseSeconds),
+                (int) Math.min(SigV4QuerySigner.MAX_EXPIRES_SECONDS, k.expirySeconds() + reuseSeconds)));
+    }
+
+    /** 현재 시간 버킷과 그 버킷이 끝날 때까지 남은 초 (응답 ETag / Cache-Control 용). */
+    BlobStorage.PresignWindow window() {
+        long now = clock.instant().getEpochSecond();
+        if (reuseSeconds == 0) return new BlobStorage.PresignWindow(now, 0);
+        return new BlobStorage.PresignWindow(now / reuseSeconds, reuseSeconds - now % reuseSeconds);
+    }
+
+    /** 현재 시간 버킷. 같은 버킷이면 같은 URL. */
+    long bucket() {
+        return reuseSeconds == 0 ? clock.instant().getEpochSecond() : clock.instant().getEpochSecond() / reuseSeconds;
+    }
+}
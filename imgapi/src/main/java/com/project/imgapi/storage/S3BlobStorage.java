@@ -2,26 +2,41 @@ package com.project.imgapi.storage;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.instrument.MeterRegistry;
 import software.amazon.awssdk.auth.credentials.*;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.*;
 import software.amazon.awssdk.services.s3.model.*;
-import software.amazon.awssdk.services.s3.presigner.*;
-import software.amazon.awssdk.services.s3.presigner.model.*;
+import software.amazon.awssdk.services.s3.multipart.MultipartConfiguration;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.transfer.s3.model.UploadRequest;
 
 import java.io.InputStream;
+import java.net.URI;
 import java.net.URL;
+import java.time.Clock;
 import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Component
 public class S3BlobStorage implements BlobStorage {
 
   private final S3Client s3;
-  private final S3Presigner presigner;
+  private final S3AsyncClient s3Async;
+  private final S3TransferManager transferManager;
+  private final ExecutorService streamReader = Executors.newVirtualThreadPerTaskExecutor();
+  private final PresignedUrlCache presignedUrls;
   private final String bucket;
   private final int defaultExpiry;
+  private final long multipartThreshold;
 
   public S3BlobStorage(
       @Value("${storage.s3.endpoint}") String endpoint,
@@ -29,7 +44,16 @@ public class S3BlobStorage implements BlobStorage {
       @Value("${storage.s3.accessKey}") String accessKey,
       @Value("${storage.s3.secretKey}") String secretKey,
       @Value("${storage.s3.bucket}") String bucket,
-      @Value("${storage.s3.presignExpirySeconds}") int defaultExpiry
+      @Value("${storage.s3.presignExpirySeconds}") int defaultExpiry,
+      @Value("${storage.s3.maxConnections:64}") int maxConnections,
+      @Value("${storage.s3.connectTimeoutMs:2000}") long connectTimeoutMs,
+      @Value("${storage.s3.readTimeoutMs:10000}") long readTimeoutMs,
+      @Value("${storage.s3.multipartThresholdBytes:16777216}") long multipartThreshold,
+      @Value("${storage.s3.multipartPartSizeBytes:8388608}") long partSize,
+      @Value("${storage.s3.multipartConcurrency:8}") int multipartConcurrency,
+      @Value("${storage.s3.presignReuseSeconds:300}") long presignReuseSeconds,
+      @Value("${storage.s3.presignCacheSize:100000}") long presignCacheSize,
+      MeterRegistry meterRegistry
   ) {
     AwsBasicCredentials creds = AwsBasicCredentials.create(accessKey, secretKey);
     var conf = S3Configuration.builder().pathStyleAccessEnabled(true).build();
@@ -39,16 +63,37 @@ public class S3BlobStorage implements BlobStorage {
         .credentialsProvider(StaticCredentialsProvider.create(creds))
         .endpointOverride(java.net.URI.create(endpoint))
         .serviceConfiguration(conf)
+        .httpClientBuilder(ApacheHttpClient.builder()
+            .maxConnections(maxConnections)
+            .connectionTimeout(Duration.ofMillis(connectTimeoutMs))
+            .socketTimeout(Duration.ofMillis(readTimeoutMs)))
         .build();
 
-    this.presigner = S3Presigner.builder()
+    // 대용량 원본용: part 를 병렬 전송하는 멀티파트 클라이언트
+    // (buffer = partSize * concurrency 만큼 part 를 동시에 in-flight 로 유지)
+    this.s3Async = S3AsyncClient.builder()
         .region(Region.of(region))
         .credentialsProvider(StaticCredentialsProvider.create(creds))
         .endpointOverride(java.net.URI.create(endpoint))
+        .serviceConfiguration(conf)
+        .httpClientBuilder(NettyNioAsyncHttpClient.builder().maxConcurrency(multipartConcurrency))
+        .multipartEnabled(true)
+        .multipartConfiguration(MultipartConfiguration.builder()
+            .thresholdInBytes(multipartThreshold)
+            .minimumPartSizeInBytes(partSize)
+            .apiCallBufferSizeInBytes(partSize * multipartConcurrency)
+            .build())
         .build();
+    this.transferManager = S3TransferManager.builder().s3Client(s3Async).build();
+
+    // presign: 하루 단위 서명 키 캐시 + 시간 버킷 단위 URL 재사용 (클라이언트와 같은 path-style)
+    SigV4QuerySigner signer = new SigV4QuerySigner(URI.create(endpoint), true, bucket, region, accessKey, secretKey);
+    this.presignedUrls = new PresignedUrlCache(signer::presignGet, presignReuseSeconds, presignCacheSize,
+        meterRegistry, Clock.systemUTC());
 
     this.bucket = bucket;
     this.defaultExpiry = defaultExpiry;
+    this.multipartThreshold = multipartThreshold;
     
     try { 
         s3.createBucket(CreateBucketRequest.builder().bucket(bucket).build());
@@ -59,22 +104,52 @@ public class S3BlobStorage implements BlobStorage {
   @Override
   public String putObject(String keyHint, String contentType, long size, InputStream in) {
     String key = keyHint + "/" + UUID.randomUUID();
-    s3.putObject(PutObjectRequest.builder()
-            .bucket(bucket).key(key)
-            .contentType(contentType).build(),
-        RequestBody.fromInputStream(in, size));
+    var req = PutObjectRequest.builder()
+        .bucket(bucket).key(key)
+        .contentType(contentType).build();
+
+    if (size >= multipartThreshold) {
+      putMultipart(req, size, in);
+    } else {
+      s3.putObject(req, RequestBody.fromInputStream(in, size));
+    }
     return key;
   }
 
+  private void putMultipart(PutObjectRequest req, long size, InputStream in) {
+    var upload = transferManager.upload(UploadRequest.builder()
+        .putObjectRequest(req)
+        .requestBody(AsyncRequestBody.fromInputStream(in, size, streamReader))
+        .build());
+    try {
+      upload.completionFuture().join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException re) throw re;
+      throw e;
+    }
+  }
+
+  @Override public InputStream openRead(String key) {
+    return s3.getObject(GetObjectRequest.builder().bucket(bucket).key(key).build());
+  }
+
   @Override public void deleteObject(String key) {
     s3.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(key).build());
   }
 
+  /** 남은 유효기간이 expirySeconds 이상인 URL. presignReuseSeconds 동안은 캐시된 같은 URL 을 돌려준다. */
   @Override public URL presignGet(String key, int expirySeconds) {
-    var req = GetObjectRequest.builder().bucket(bucket).key(key).build();
-    var presigned = presigner.presignGetObject(GetObjectPresignRequest.builder()
-        .signatureDuration(Duration.ofSeconds(expirySeconds > 0 ? expirySeconds : defaultExpiry))
-        .getObjectRequest(req).build());
-    return presigned.url();
+    return presignedUrls.get(key, expirySeconds > 0 ? expirySeconds : defaultExpiry);
+  }
+
+  @Override public PresignWindow presignWindow() {
+    return presignedUrls.window();
+  }
+
+  @PreDestroy
+  void close() {
+    transferManager.close();
+    s3Async.close();
+    streamReader.close();
   }
 }
@@ -0,0 +1,116 @@
+package com.project.imgapi.storage;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.project.imgapi.util.HashUtil;
+
+/**
+ * S3 GET 용 SigV4 쿼리 서명 (presigned URL).
+ *
+ * S3Presigner 는 호출마다 서명 키(HMAC 4단계)를 새로 유도하고 요청 모델/인터셉터를 거친다.
+ * 서명 키는 날짜·리전·서비스에만 의존하므로 하루 한 번만 유도해 캐시하고, 요청당 HMAC 은 1번만 한다.
+ * signingTime 을 호출자가 정하므로 같은 입력이면 같은 URL 이 나온다 (PresignedUrlCache 의 버킷 단위 재사용).
+ */
+final class SigV4QuerySigner {
+
+    static final int MAX_EXPIRES_SECONDS = 7 * 24 * 3600; // S3 presign 상한
+
+    private static final DateTimeFormatter AMZ_DATE =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private record SigningKey(String date, byte[] key) {}
+
+    private final String scheme;
+    private final String host;
+    private final String pathPrefix;   // path-style 이면 "/bucket"
+    private final String region;
+    private final String accessKey;
+    private final String secretKey;
+    private volatile SigningKey signingKey;
+
+    SigV4QuerySigner(URI endpoint, boolean pathStyle, String bucket, String region, String accessKey, String secretKey) {
+        String authority = endpoint.getHost() + (endpoint.getPort() == -1 ? "" : ":" + endpoint.getPort());
+        this.scheme = endpoint.getScheme();
+        this.host = pathStyle ? authority : bucket + "." + authority;
+        this.pathPrefix = pathStyle ? "/" + uriEncode(bucket, false) : "";
+        this.region = region;
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+    }
+
+    URL presignGet(String key, Instant signingTime, int expiresSeconds) {
+        String amzDate = AMZ_DATE.format(signingTime);
+        String date = amzDate.substring(0, 8);
+        String scope = date + "/" + region + "/s3/aws4_request";
+        String path = pathPrefix + "/" + uriEncode(key, true);
+
+        // 파라미터 이름 알파벳순 (canonical query string)
+        String query = "X-Amz-Algorithm=AWS4-HMAC-SHA256"
+                + "&X-Amz-Credential=" + uriEncode(accessKey + "/" + scope, false)
+                + "&X-Amz-Date=" + amzDate
+                + "&X-Amz-Expires=" + Math.min(expiresSeconds, MAX_EXPIRES_SECONDS)
+                + "&X-Amz-SignedHeaders=host";
+
+        String canonicalRequest = "GET\n" + path + "\n" + query + "\n"
+                + "host:" + host + "\n\n"
+                + "host\n"
+                + "UNSIGNED-PAYLOAD";
+        String stringToSign = "AWS4-HMAC-SHA256\n" + amzDate + "\n" + scope + "\n"
+                + HashUtil.hex(HashUtil.newSha256().digest(canonicalRequest.getBytes(StandardCharsets.UTF_8)));
+        String signature = HashUtil.hex(hmac(signingKey(date), stringToSign));
+
+        try {
+            return URI.create(scheme + "://" + host + path + "?" + query + "&X-Amz-Signature=" + signature).toURL();
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /** 날짜가 바뀔 때만 다시 유도한다. 경합 시 두 스레드가 같은 값을 계산할 뿐이라 락은 없다. */
+    private byte[] signingKey(String date) {
+        SigningKey k = signingKey;
+        if (k == null || !k.date().equals(date)) {
+            byte[] kDate = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), date);
+            byte[] kRegion = hmac(kDate, region);
+            byte[] kService = hmac(kRegion, "s3");
+            k = new SigningKey(date, hmac(kService, "aws4_request"));
+            signingKey = k;
+        }
+        return k.key();
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** SigV4 URI 인코딩: unreserved(A-Z a-z 0-9 - _ . ~) 외에는 %XX. 객체 키 경로의 '/' 는 유지. */
+    static String uriEncode(String s, boolean keepSlash) {
+        StringBuilder sb = new StringBuilder(s.length() + 16);
+        for (byte b : s.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xff);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~' || (keepSlash && c == '/')) {
+                sb.append(c);
+            } else {
+                sb.append('%').append(Character.toUpperCase(Character.forDigit((c >> 4) & 0xf, 16)))
+                  .append(Character.toUpperCase(Character.forDigit(c & 0xf, 16)));
+            }
+        }
+        return sb.toString();
+    }
+}
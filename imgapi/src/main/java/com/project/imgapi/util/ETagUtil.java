@@ -0,0 +1,19 @@
+package com.project.imgapi.util;
+
+public class ETagUtil {
+
+  /** If-None-Match 가 etag 와 맞는지. 목록("a", W/"b")과 * 를 받고, 약한 비교(W/ 무시)로 판단한다 (RFC 9110 13.1.2). */
+  public static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null || ifNoneMatch.isBlank() || etag == null) return false;
+    String want = opaque(etag);
+    for (String t : ifNoneMatch.split(",")) {
+      String s = t.strip();
+      if (s.equals("*") || opaque(s).equals(want)) return true;
+    }
+    return false;
+  }
+
+  private static String opaque(String tag) {
+    return tag.startsWith("W/") ? tag.substring(2) : tag;
+  }
+}
@@ -2,20 +2,31 @@ package com.project.imgapi.util;
 
 import java.io.InputStream;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 
 public class HashUtil {
   public static String sha256Hex(InputStream in) {
     try {
-      MessageDigest md = MessageDigest.getInstance("SHA-256");
+      MessageDigest md = newSha256();
       byte[] buf = new byte[8192];
       int n;
       while ((n = in.read(buf)) > 0) md.update(buf, 0, n);
-      byte[] digest = md.digest();
-      StringBuilder sb = new StringBuilder();
-      for (byte b : digest) sb.append(String.format("%02x", b));
-      return sb.toString();
+      return hex(md.digest());
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
   }
+
+  public static MessageDigest newSha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public static String hex(byte[] digest) {
+    return HexFormat.of().formatHex(digest);
+  }
 }
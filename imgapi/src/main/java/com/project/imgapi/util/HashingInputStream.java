@@ -0,0 +1,53 @@
+package com.project.imgapi.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+
+/**
+ * 읽히는 바이트를 그대로 SHA-256 에 흘려 넣는 스트림.
+ * 스토리지 업로드와 해시 계산을 한 번의 읽기로 처리하기 위해 사용한다.
+ *
+ * mark/reset 을 지원하지 않는다. SDK 가 재시도를 위해 reset 하면 같은 바이트가
+ * 다이제스트에 두 번 들어가므로, 의도적으로 막아 SDK 가 자체 버퍼로 감싸도록 한다.
+ */
+public class HashingInputStream extends FilterInputStream {
+  private final MessageDigest md = HashUtil.newSha256();
+  private long count;
+
+  public HashingInputStream(InputStream in) { super(in); }
+
+  @Override public int read() throws IOException {
+    int b = in.read();
+    if (b >= 0) { md.update((byte) b); count++; }
+    return b;
+  }
+
+  @Override public int read(byte[] buf, int off, int len) throws IOException {
+    int n = in.read(buf, off, len);
+    if (n > 0) { md.update(buf, off, n); count += n; }
+    return n;
+  }
+
+  @Override public long skip(long n) throws IOException {
+    // 건너뛴 바이트도 해시에 포함되어야 하므로 직접 읽는다
+    byte[] buf = new byte[8192];
+    long left = n;
+    while (left > 0) {
+      int r = read(buf, 0, (int) Math.min(buf.length, left));
+      if (r < 0) break;
+      left -= r;
+    }
+    return n - left;
+  }
+
+  @Override public boolean markSupported() { return false; }
+  @Override public synchronized void mark(int readlimit) {}
+  @Override public synchronized void reset() throws IOException { throw new IOException("mark/reset not supported"); }
+
+  public long bytesRead() { return count; }
+
+  /** 스트림을 끝까지 읽은 뒤 호출. */
+  public String sha256Hex() { return HashUtil.hex(md.digest()); }
+}
@@ -0,0 +1,48 @@
+package com.project.imgapi.util;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+public class ImageDecodeUtil {
+
+  /**
+   * 축소 디코드 후에도 목표 폭의 이 배수 이상을 남긴다.
+   * 서브샘플링은 최근접 샘플링이라, 여유를 두고 뒤의 보간 축소로 계단 현상을 없앤다.
+   */
+  static final int OVERSAMPLE = 2;
+
+  /**
+   * targetWidth 썸네일에 필요한 만큼만 디코드한다. (ImageReadParam.setSourceSubsampling)
+   * 6000x4000 원본 → 512px 썸네일이면 1/5 로 읽어 픽셀 버퍼가 96MB → 약 4MB.
+   * 읽을 수 있는 reader 가 없으면 null.
+   */
+  public static BufferedImage readSubsampled(InputStream in, int targetWidth) throws IOException {
+    try (ImageInputStream iis = new MemoryCacheImageInputStream(in)) {
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+      if (!readers.hasNext()) return null;
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(iis, true, true);
+        ImageReadParam param = reader.getDefaultReadParam();
+        int factor = subsampling(reader.getWidth(0), targetWidth);
+        if (factor > 1) param.setSourceSubsampling(factor, factor, 0, 0);
+        return reader.read(0, param);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /** 디코드 폭이 targetWidth * OVERSAMPLE 아래로 내려가지 않는 가장 큰 정수 배율. */
+  public static int subsampling(int sourceWidth, int targetWidth) {
+    if (targetWidth <= 0) return 1;
+    return Math.max(1, sourceWidth / (targetWidth * OVERSAMPLE));
+  }
+}
@@ -0,0 +1,32 @@
+package com.project.imgapi.util;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class TagUtil {
+  public static final int MAX_TAG_LENGTH = 100;
+
+  /** "Cat, dog ,cat" → [cat, dog]. 쉼표 구분, 앞뒤 공백 제거, 소문자, 중복/빈 값 제거, 순서 유지. */
+  public static List<String> normalize(String tags) {
+    return normalize(tags, s -> { throw new IllegalArgumentException("tag too long: " + s); });
+  }
+
+  /** normalize 와 같지만 MAX_TAG_LENGTH 를 넘는 태그는 빼고 tooLong 에 넘긴다 (이미 저장된 데이터 이전용). */
+  public static List<String> normalize(String tags, Consumer<String> tooLong) {
+    if (tags == null || tags.isBlank()) return List.of();
+    Set<String> out = new LinkedHashSet<>();
+    for (String t : tags.split(",")) {
+      String s = t.strip().toLowerCase(Locale.ROOT);
+      if (s.isEmpty()) continue;
+      if (s.length() > MAX_TAG_LENGTH) {
+        tooLong.accept(s);
+        continue;
+      }
+      out.add(s);
+    }
+    return List.copyOf(out);
+  }
+}
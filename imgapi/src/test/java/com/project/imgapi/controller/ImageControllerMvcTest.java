@@ -0,0 +1,169 @@
+package com.project.imgapi.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import com.project.imgapi.dto.Conditional;
+import com.project.imgapi.dto.ImageDtos.CursorList;
+import com.project.imgapi.dto.ImageDtos.DetailBatch;
+import com.project.imgapi.dto.ImageDtos.ListItem;
+import com.project.imgapi.dto.ImageDtos.OffsetList;
+import com.project.imgapi.enums.ImageSort;
+import com.project.imgapi.enums.ImageStatus;
+import com.project.imgapi.enums.ListUrls;
+import com.project.imgapi.service.ImageExportService;
+import com.project.imgapi.service.ImageService;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/** 요청 파라미터 → 서비스 인자 변환과 400 처리 (서비스는 mock). */
+@WebMvcTest(ImageController.class)
+class ImageControllerMvcTest {
+
+    @Autowired MockMvc mvc;
+    @MockitoBean ImageService imageService;
+    @MockitoBean ImageExportService exportService;
+
+    private void stubOffsetList() {
+        when(imageService.listOffset(anyLong(), any(), any(), anyInt(), anyInt(), anyBoolean(), any(), anyBoolean(), any(), anyInt(), any()))
+            .thenReturn(new Conditional<>("W/\"x\"", 0, new OffsetList(List.of(), 0L, 0, 20, false)));
+    }
+
+    @Test
+    @DisplayName("파라미터 없는 목록 조회는 200, includeUrls 기본값 none")
+    void plainList() throws Exception {
+        stubOffsetList();
+
+        mvc.perform(get("/projects/{projectId}/images", 1L))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(0));
+        verify(imageService).listOffset(eq(1L), isNull(), isNull(), eq(0), eq(20), eq(true), any(), eq(false),
+            eq(ListUrls.NONE), eq(600), isNull());
+    }
+
+    @Test
+    @DisplayName("includeUrls 는 대소문자를 가리지 않고, 모르는 값은 400")
+    void includeUrlsParam() throws Exception {
+        stubOffsetList();
+
+        mvc.perform(get("/projects/{projectId}/images", 1L).param("includeUrls", "thumbnail")).andExpect(status().isOk());
+        mvc.perform(get("/projects/{projectId}/images", 1L).param("includeUrls", "ALL")).andExpect(status().isOk());
+        verify(imageService).listOffset(anyLong(), any(), any(), anyInt(), anyInt(), anyBoolean(), any(), anyBoolean(),
+            eq(ListUrls.THUMBNAIL), anyInt(), any());
+        verify(imageService).listOffset(anyLong(), any(), any(), anyInt(), anyInt(), anyBoolean(), any(), anyBoolean(),
+            eq(ListUrls.ALL), anyInt(), any());
+
+        mvc.perform(get("/projects/{projectId}/images", 1L).param("includeUrls", "everything"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("URL 을 요청하지 않으면 URL 필드만 생략, tags 가 null 이어도 필드는 남는다")
+    void listItemOmitsOnlyUrls() throws Exception {
+        ListItem plain = new ListItem(1L, "a.jpg", ImageStatus.PROCESSING, null, 10, Instant.EPOCH, null, null);
+        ListItem withThumb = new ListItem(2L, "b.jpg", ImageStatus.READY, "cat", 10, Instant.EPOCH,
+            URI.create("http://s3/thumb").toURL(), null);
+        when(imageService.listOffset(anyLong(), any(), any(), anyInt(), anyInt(), anyBoolean(), any(), anyBoolean(), any(), anyInt(), any()))
+            .thenReturn(new Conditional<>("W/\"x\"", 0, new OffsetList(List.of(plain, withThumb), 2L, 0, 20, false)));
+
+        mvc.perform(get("/projects/{projectId}/images", 1L).param("includeUrls", "thumbnail"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].tags").hasJsonPath())
+            .andExpect(jsonPath("$.items[0].thumbnailUrl").doesNotExist())
+            .andExpect(jsonPath("$.items[0].originalUrl").doesNotExist())
+            .andExpect(jsonPath("$.items[1].thumbnailUrl").value("http://s3/thumb"))
+            .andExpect(jsonPath("$.items[1].originalUrl").doesNotExist());
+    }
+
+    @ParameterizedTest(name = "sort={0}")
+    @CsvSource({
+        "id, ID", "createdAt, CREATED_AT", "sizeBytes, SIZE_BYTES", "filename, FILENAME",
+        "created_at, CREATED_AT", "SIZE_BYTES, SIZE_BYTES", "FileName, FILENAME",
+    })
+    @DisplayName("sort 파라미터 → 정렬 키, dir 은 양방향 (offset / cursor)")
+    void sortParam(String param, ImageSort expected) throws Exception {
+        stubOffsetList();
+        when(imageService.listCursor(anyLong(), any(), any(), any(), anyInt(), any(), anyBoolean(), any(), anyInt(), any()))
+            .thenReturn(new Conditional<>("W/\"x\"", 0, new CursorList(List.of(), null)));
+
+        for (String dir : List.of("asc", "desc")) {
+            boolean asc = dir.equals("asc");
+            mvc.perform(get("/projects/{projectId}/images", 1L).param("sort", param).param("dir", dir))
+                .andExpect(status().isOk());
+            verify(imageService).listOffset(anyLong(), any(), any(), anyInt(), anyInt(), anyBoolean(), eq(expected), eq(asc),
+                any(), anyInt(), any());
+            mvc.perform(get("/projects/{projectId}/images", 1L).param("mode", "cursor").param("sort", param).param("dir", dir))
+                .andExpect(status().isOk());
+            verify(imageService).listCursor(anyLong(), any(), any(), any(), anyInt(), eq(expected), eq(asc), any(), anyInt(), any());
+        }
+    }
+
+    @Test
+    @DisplayName("size=0 (음수 포함) 은 offset/cursor 모두 400")
+    void nonPositiveSize() throws Exception {
+        // 검증은 서비스 첫 줄 → mock 대신 실제 메서드 (필드를 쓰기 전에 던진다)
+        when(imageService.listOffset(anyLong(), any(), any(), anyInt(), anyInt(), anyBoolean(), any(), anyBoolean(), any(), anyInt(), any()))
+            .thenCallRealMethod();
+        when(imageService.listCursor(anyLong(), any(), any(), any(), anyInt(), any(), anyBoolean(), any(), anyInt(), any()))
+            .thenCallRealMethod();
+
+        for (String size : List.of("0", "-5")) {
+            mvc.perform(get("/projects/{projectId}/images", 1L).param("size", size))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("size must be >= 1"));
+            mvc.perform(get("/projects/{projectId}/images", 1L).param("mode", "cursor").param("size", size))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("size must be >= 1"));
+        }
+    }
+
+    @Test
+    @DisplayName("모르는 정렬 키는 400")
+    void unknownSort() throws Exception {
+        mvc.perform(get("/projects/{projectId}/images", 1L).param("sort", "tags"))
+            .andExpect(status().isBadRequest());
+        verifyNoInteractions(imageService);
+    }
+
+    @Test
+    @DisplayName("GET /images?ids= 는 요청 순서(중복 포함) 그대로 서비스에 넘긴다")
+    void batchGetPassesIdsInOrder() throws Exception {
+        when(imageService.getMany(anyList(), anyInt())).thenReturn(new DetailBatch(List.of(), List.of(9L)));
+
+        mvc.perform(get("/images").param("ids", "3,1,3,9"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.missing[0]").value(9));
+        verify(imageService).getMany(List.of(3L, 1L, 3L, 9L), 600);
+    }
+
+    @Test
+    @DisplayName("id 100개 초과: POST 는 검증에서, GET 은 서비스 예외로 400")
+    void batchGetCap() throws Exception {
+        String ids = LongStream.rangeClosed(1, 101).mapToObj(Long::toString).collect(Collectors.joining(","));
+
+        mvc.perform(post("/images/batch-get").contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[" + ids + "]}"))
+            .andExpect(status().isBadRequest());
+        verify(imageService, never()).getMany(anyList(), anyInt());
+
+        when(imageService.getMany(anyList(), anyInt())).thenThrow(new IllegalArgumentException("too many ids (max 100)"));
+        mvc.perform(get("/images").param("ids", ids))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.detail").value("too many ids (max 100)"));
+    }
+}
@@ -0,0 +1,41 @@
+package com.project.imgapi.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import com.project.imgapi.enums.ImageSort;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ImageCursorTest {
+
+    @Test
+    @DisplayName("정렬 키별 인코딩/디코딩 왕복")
+    void roundTrip() {
+        ImageCursor[] cursors = {
+            new ImageCursor(ImageSort.ID, false, null, 42L),
+            new ImageCursor(ImageSort.CREATED_AT, true, Instant.parse("2024-03-01T12:34:56.123456Z"), 7L),
+            new ImageCursor(ImageSort.SIZE_BYTES, false, 1_048_576L, 9L),
+            new ImageCursor(ImageSort.FILENAME, true, "a\nb|c 한글.jpg", 11L),
+        };
+        for (ImageCursor c : cursors) {
+            String encoded = c.encode();
+            assertThat(encoded).matches("[A-Za-z0-9_-]+"); // URL 에 그대로 넣을 수 있다
+            assertThat(ImageCursor.decode(encoded)).isEqualTo(c);
+        }
+    }
+
+    @Test
+    @DisplayName("예전 숫자 커서는 id DESC 로 해석")
+    void legacyNumericCursor() {
+        assertThat(ImageCursor.decode("12345")).isEqualTo(new ImageCursor(ImageSort.ID, false, null, 12345L));
+    }
+
+    @Test
+    @DisplayName("잘못된 커서는 IllegalArgumentException")
+    void invalid() {
+        assertThatThrownBy(() -> ImageCursor.decode("not-a-cursor")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
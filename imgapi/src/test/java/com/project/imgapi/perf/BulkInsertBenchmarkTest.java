@@ -0,0 +1,122 @@
+package com.project.imgapi.perf;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.project.imgapi.entity.ImageAsset;
+import com.project.imgapi.entity.Project;
+import com.project.imgapi.enums.ImageStatus;
+import com.project.imgapi.repository.ImageAssetRepository;
+import com.project.imgapi.repository.ProjectRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 1,000 행 bulk insert 비교. 두 경로 모두 persist 후 flush 1회이고 id 전략만 다르다.
+ * before: IDENTITY id 의 같은 모양 테이블 (insert 마다 즉시 실행 → 배치 불가, 행당 1 round trip)
+ * after : ImageAsset (pooled 시퀀스 + hibernate.jdbc.batch_size 배치)
+ *
+ * 실행: ./gradlew test --tests '*BulkInsertBenchmarkTest' -Dperf.bench=true
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@EnabledIfSystemProperty(named = "perf.bench", matches = "true")
+class BulkInsertBenchmarkTest {
+
+    /** 변경 전 ImageAsset 의 id 전략(IDENTITY)을 그대로 둔 비교용 엔티티. */
+    @Entity
+    @Table(name = "bench_identity_asset")
+    static class IdentityAsset {
+        @Id @GeneratedValue(strategy = GenerationType.IDENTITY) Long id;
+        @Column(name = "project_id", nullable = false) Long projectId;
+        @Column(name = "original_filename", nullable = false) String originalFilename;
+        @Column(name = "content_type", nullable = false) String contentType;
+        @Column(name = "size_bytes", nullable = false) long sizeBytes;
+        @Column(name = "content_hash", nullable = false, length = 64) String contentHash;
+        @Column(name = "object_key", nullable = false) String objectKey;
+        @Column(nullable = false) String status;
+    }
+
+    private static final int ROWS = 1_000;
+
+    @Autowired ImageAssetRepository imageAssetRepo;
+    @Autowired ProjectRepository projectRepo;
+    @Autowired EntityManager em;
+
+    @Test
+    @DisplayName("1,000 행 insert: IDENTITY vs pooled 시퀀스 배치")
+    void bulkInsert() {
+        Project project = new Project();
+        project.setCode("bulk-bench");
+        projectRepo.saveAndFlush(project);
+
+        Statistics stats = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        stats.clear();
+        long t0 = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) em.persist(identityAsset(project, i));
+        em.flush();
+        long beforeNanos = System.nanoTime() - t0;
+        long beforeStatements = stats.getPrepareStatementCount();
+        em.clear();
+
+        stats.clear();
+        t0 = System.nanoTime();
+        List<ImageAsset> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) rows.add(asset(project, "after", i));
+        imageAssetRepo.saveAll(rows);
+        imageAssetRepo.flush();
+        long afterNanos = System.nanoTime() - t0;
+        long afterStatements = stats.getPrepareStatementCount();
+
+        System.out.printf("%n== Bulk insert (%d rows) ==%n", ROWS);
+        System.out.printf("[before] IDENTITY      : %.1fms, statements=%d%n", beforeNanos / 1e6, beforeStatements);
+        System.out.printf("[after ] pooled + batch: %.1fms, statements=%d%n", afterNanos / 1e6, afterStatements);
+
+        // 배치: 시퀀스 호출(50개당 1회) + batch_size(100)당 1회 실행
+        assertThat(afterStatements).isLessThan(beforeStatements / 10);
+        assertThat(imageAssetRepo.count()).isEqualTo(ROWS);
+    }
+
+    private static IdentityAsset identityAsset(Project project, int i) {
+        IdentityAsset a = new IdentityAsset();
+        a.projectId = project.getId();
+        a.originalFilename = "before-" + i + ".jpg";
+        a.contentType = "image/jpeg";
+        a.sizeBytes = 1024;
+        a.contentHash = "befor-%058d".formatted(i);
+        a.objectKey = "original/bench/before/" + i;
+        a.status = ImageStatus.PROCESSING.name();
+        return a;
+    }
+
+    private static ImageAsset asset(Project project, String prefix, int i) {
+        ImageAsset a = new ImageAsset();
+        a.setProject(project);
+        a.setOriginalFilename(prefix + "-" + i + ".jpg");
+        a.setContentType("image/jpeg");
+        a.setSizeBytes(1024);
+        a.setContentHash("%s-%058d".formatted(prefix.substring(0, 5), i));
+        a.setObjectKey("original/bench/" + prefix + "/" + i);
+        a.setStatus(ImageStatus.PROCESSING);
+        return a;
+    }
+}
@@ -0,0 +1,107 @@
+package com.project.imgapi.perf;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.project.imgapi.entity.Project;
+import com.project.imgapi.repository.ProjectRepository;
+import com.project.imgapi.service.ImageExportService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * NDJSON 내보내기: 행 수를 늘려도 힙 사용량이 늘지 않는지 (forward-only 커서 + 줄 단위 쓰기).
+ * 출력은 줄 수만 세고 버린다. 처리량과 내보내기 전후 사용 중 힙(GC 후)을 출력한다.
+ *
+ * 실행: ./gradlew test --tests '*ExportStreamBenchmarkTest' -Dperf.bench=true [-Dperf.exportRows=500000]
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 적재는 청크마다 커밋
+@EnabledIfSystemProperty(named = "perf.bench", matches = "true")
+class ExportStreamBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("perf.exportRows", 500_000);
+    private static final int CHUNK = 5_000;
+    private static final long BASE_ID = 300_000_000L; // 시퀀스 범위와 겹치지 않게
+
+    @Autowired ProjectRepository projectRepo;
+    @Autowired DataSource dataSource;
+
+    /** 줄 수만 센다. */
+    static class LineCounter extends OutputStream {
+        long lines, bytes;
+        @Override public void write(int b) { bytes++; if (b == '\n') lines++; }
+        @Override public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) if (b[i] == '\n') lines++;
+        }
+    }
+
+    @Test
+    @DisplayName("내보내기: 메모리 일정, after 로 이어받기")
+    void export() throws Exception {
+        Project project = new Project();
+        project.setCode("export-bench");
+        project = projectRepo.saveAndFlush(project);
+        long projectId = project.getId();
+        load(new JdbcTemplate(dataSource), projectId);
+
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        ImageExportService export = new ImageExportService(dataSource, mapper, 1000, 1000, new SimpleMeterRegistry());
+
+        long heapBefore = usedHeapAfterGc();
+        LineCounter all = new LineCounter();
+        long t0 = System.nanoTime();
+        export.export(projectId, 0, all);
+        double secs = (System.nanoTime() - t0) / 1e9;
+        long heapAfter = usedHeapAfterGc();
+        System.out.printf("%n== Export (%,d assets) ==%n%,d lines, %.1f MB in %.2fs (%,.0f rows/s), used heap %,d KB → %,d KB%n",
+                ROWS, all.lines, all.bytes / 1e6, secs, all.lines / secs, heapBefore / 1024, heapAfter / 1024);
+        assertThat(all.lines).isEqualTo(ROWS);
+
+        // 절반 지점부터 이어받기
+        LineCounter rest = new LineCounter();
+        export.export(projectId, BASE_ID + ROWS / 2 - 1, rest);
+        assertThat(rest.lines).isEqualTo(ROWS - ROWS / 2);
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void load(JdbcTemplate jdbc, long projectId) {
+        Timestamp now = Timestamp.from(Instant.now());
+        for (int from = 0; from < ROWS; from += CHUNK) {
+            List<Object[]> assets = new ArrayList<>(CHUNK);
+            for (int i = from; i < Math.min(ROWS, from + CHUNK); i++) {
+                Timestamp at = new Timestamp(now.getTime() + i);
+                assets.add(new Object[] { BASE_ID + i, projectId, "img-" + i + ".jpg", "%064d".formatted(i), "original/bench/" + i,
+                        "tag" + (i % 100), at, at });
+            }
+            jdbc.batchUpdate("""
+                insert into image_asset (id, project_id, original_filename, content_type, size_bytes, content_hash, object_key,
+                                         status, soft_delete, tags, version, created_at, updated_at)
+                values (?, ?, ?, 'image/jpeg', 1024, ?, ?, 'READY', false, ?, 0, ?, ?)
+                """, assets);
+        }
+    }
+}
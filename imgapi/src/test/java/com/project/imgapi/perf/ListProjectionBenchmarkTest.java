@@ -0,0 +1,147 @@
+package com.project.imgapi.perf;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.project.imgapi.dto.ImageDtos.ListItem;
+import com.project.imgapi.dto.ImageRow;
+import com.project.imgapi.entity.ImageAsset;
+import com.project.imgapi.entity.Project;
+import com.project.imgapi.enums.ImageSort;
+import com.project.imgapi.repository.ImageAssetRepository;
+import com.project.imgapi.repository.ProjectRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 목록 200건 페이지: 페이지당 지연 시간(p50/p95)과 할당 바이트.
+ * before: 읽기-쓰기 트랜잭션 + ImageAsset 엔티티 로딩 (스냅샷, 커밋 시 dirty checking) → ListItem
+ * after : readOnly 트랜잭션(flush MANUAL) + ImageRow 프로젝션 → ListItem
+ *
+ * 실행: ./gradlew test --tests '*ListProjectionBenchmarkTest' -Dperf.bench=true [-Dperf.listRows=50000]
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 트랜잭션은 측정 대상이라 직접 연다
+@EnabledIfSystemProperty(named = "perf.bench", matches = "true")
+class ListProjectionBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("perf.listRows", 50_000);
+    private static final int PAGE = 200;
+    private static final int CHUNK = 5_000;
+    private static final int WARMUP = 50;
+    private static final int RUNS = 300;
+
+    @Autowired ImageAssetRepository imageAssetRepo;
+    @Autowired ProjectRepository projectRepo;
+    @Autowired EntityManager em;
+    @Autowired DataSource dataSource;
+    @Autowired PlatformTransactionManager txManager;
+
+    @Test
+    @DisplayName("200건 페이지: 엔티티 vs 프로젝션 (지연, 할당)")
+    void listPage() {
+        Project project = new Project();
+        project.setCode("list-bench");
+        project = projectRepo.saveAndFlush(project);
+        long projectId = project.getId();
+        load(new JdbcTemplate(dataSource), projectId);
+
+        TransactionTemplate readWrite = new TransactionTemplate(txManager);
+        TransactionTemplate readOnly = new TransactionTemplate(txManager);
+        readOnly.setReadOnly(true);
+        int pages = ROWS / PAGE;
+
+        System.out.printf("%n== List page (%,d assets, %d items/page) ==%n", ROWS, PAGE);
+        Result before = measure("[before] entity, read-write", n -> readWrite.execute(s -> entityPage(projectId, n % pages)));
+        Result after = measure("[after ] ImageRow, readOnly ", n -> readOnly.execute(s -> projectionPage(projectId, n % pages)));
+
+        // 같은 페이지는 같은 결과
+        assertThat(readOnly.execute(s -> projectionPage(projectId, 3)))
+                .isEqualTo(readWrite.execute(s -> entityPage(projectId, 3)));
+        assertThat(after.allocatedPerPage()).isLessThan(before.allocatedPerPage());
+    }
+
+    private List<ListItem> entityPage(long projectId, int page) {
+        List<ImageAsset> rows = em.createQuery("""
+                select i from ImageAsset i where i.project.id = :projectId and i.softDelete = false order by i.id desc
+                """, ImageAsset.class)
+                .setParameter("projectId", projectId)
+                .setFirstResult(page * PAGE).setMaxResults(PAGE)
+                .getResultList();
+        List<ListItem> items = new ArrayList<>(rows.size());
+        for (ImageAsset a : rows) {
+            items.add(new ListItem(a.getId(), a.getOriginalFilename(), a.getStatus(), a.getTags(), a.getSizeBytes(), a.getCreatedAt(),
+                    null, null));
+        }
+        return items;
+    }
+
+    private List<ListItem> projectionPage(long projectId, int page) {
+        List<ImageRow> rows = imageAssetRepo.findRows(projectId, null, null, ImageSort.ID, false, page * PAGE, PAGE);
+        List<ListItem> items = new ArrayList<>(rows.size());
+        for (ImageRow a : rows) {
+            items.add(new ListItem(a.id(), a.filename(), a.status(), a.tags(), a.sizeBytes(), a.createdAt(), null, null));
+        }
+        return items;
+    }
+
+    private record Result(long allocatedPerPage) {}
+
+    private interface PageRun { List<ListItem> run(int n); }
+
+    private Result measure(String label, PageRun run) {
+        for (int i = 0; i < WARMUP; i++) run.run(i);
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().threadId();
+        long[] nanos = new long[RUNS];
+        long alloc0 = threads.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < RUNS; i++) {
+            long t0 = System.nanoTime();
+            List<ListItem> items = run.run(i);
+            nanos[i] = System.nanoTime() - t0;
+            assertThat(items).hasSize(PAGE);
+        }
+        long perPage = (threads.getThreadAllocatedBytes(tid) - alloc0) / RUNS;
+        Arrays.sort(nanos);
+        System.out.printf("%s: p50 %.2fms, p95 %.2fms, alloc %,d B/page%n",
+                label, nanos[RUNS / 2] / 1e6, nanos[(int) (RUNS * 0.95)] / 1e6, perPage);
+        return new Result(perPage);
+    }
+
+    private static void load(JdbcTemplate jdbc, long projectId) {
+        Timestamp now = Timestamp.from(Instant.now());
+        long baseId = 200_000_000L; // 시퀀스 범위와 겹치지 않게
+        for (int from = 0; from < ROWS; from += CHUNK) {
+            List<Object[]> assets = new ArrayList<>(CHUNK);
+            for (int i = from; i < Math.min(ROWS, from + CHUNK); i++) {
+                Timestamp at = new Timestamp(now.getTime() + i);
+                assets.add(new Object[] { baseId + i, projectId, "img-" + i + ".jpg", "%064d".formatted(i), "original/bench/" + i,
+                        "thumbnail/bench/" + i, "tag" + (i % 100), at, at });
+            }
+            jdbc.batchUpdate("""
+                insert into image_asset (id, project_id, original_filename, content_type, size_bytes, content_hash, object_key,
+                                         thumbnail_key, status, soft_delete, tags, version, created_at, updated_at)
+                values (?, ?, ?, 'image/jpeg', 1024, ?, ?, ?, 'READY', false, ?, 0, ?, ?)
+                """, assets);
+        }
+    }
+}
@@ -120,7 +120,7 @@ class PagingPerformanceTest {
                 int e = body.indexOf(',', s);
                 if (e < 0) e = body.indexOf('}', s);
                 String raw = body.substring(s, e).trim();
-                cursor = "null".equals(raw) ? null : raw;
+                cursor = "null".equals(raw) ? null : raw.replace("\"", ""); // 불투명 문자열 커서
             } else {
                 cursor = null;
             }
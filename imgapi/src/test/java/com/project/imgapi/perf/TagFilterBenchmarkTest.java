@@ -0,0 +1,139 @@
+package com.project.imgapi.perf;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.project.imgapi.dto.ImageRow;
+import com.project.imgapi.dto.TagFilter;
+import com.project.imgapi.entity.ImageAsset;
+import com.project.imgapi.entity.Project;
+import com.project.imgapi.enums.ImageSort;
+import com.project.imgapi.repository.ImageAssetRepository;
+import com.project.imgapi.repository.ProjectRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 태그 필터 목록: 1M 행 기준.
+ * before: lower(tags) like '%x%' (풀스캔, 부분 문자열 오탐 - tag1 이 tag10.. 에도 걸림)
+ * after : image_tag exists (정확 일치, 인덱스)
+ *
+ * 실행: ./gradlew test --tests '*TagFilterBenchmarkTest' -Dperf.bench=true [-Dperf.tagRows=1000000]
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 적재는 청크마다 커밋
+@EnabledIfSystemProperty(named = "perf.bench", matches = "true")
+class TagFilterBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("perf.tagRows", 1_000_000);
+    private static final int VOCAB = 2_000;     // tag1 .. tag2000, 이미지당 3개
+    private static final int CHUNK = 5_000;
+    private static final int RUNS = 5;
+
+    @Autowired ImageAssetRepository imageAssetRepo;
+    @Autowired ProjectRepository projectRepo;
+    @Autowired EntityManager em;
+    @Autowired DataSource dataSource;
+
+    @Test
+    @DisplayName("1M 행 태그 필터: like 풀스캔 vs image_tag")
+    void tagFilter() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Project project = new Project();
+        project.setCode("tag-bench");
+        project = projectRepo.saveAndFlush(project);
+        long projectId = project.getId();
+
+        long t0 = System.nanoTime();
+        load(jdbc, projectId);
+        System.out.printf("%n== Tag filter (%,d assets) ==%nload: %.1fs%n", ROWS, (System.nanoTime() - t0) / 1e9);
+
+        // 단일 태그, 첫 페이지 + total (offset 모드)
+        long before = time("[before] like 'tag1' page+count", () -> likePageCount(projectId, "tag1"));
+        TagFilter single = TagFilter.parse("tag1", "all");
+        long after = time("[after ] image_tag 'tag1' page+count", () ->
+                imageAssetRepo.findPage(projectId, null, single, ImageSort.ID, false, 0, 50).getTotalElements());
+        System.out.printf("matches: like=%,d (부분 문자열 오탐 포함), exact=%,d%n", before, after);
+        assertThat(after).isLessThan(before);
+
+        // 커서 첫 페이지, AND / OR
+        time("[after ] cursor tag1 AND tag2", () ->
+                (long) imageAssetRepo.scanKeyset(projectId, null, TagFilter.parse("tag1,tag2", "all"), ImageSort.CREATED_AT, false, null, 51).size());
+        time("[after ] cursor tag1 OR tag2", () ->
+                (long) imageAssetRepo.scanKeyset(projectId, null, TagFilter.parse("tag1,tag2", "any"), ImageSort.CREATED_AT, false, null, 51).size());
+
+        // 결과 검증: AND 결과는 모두 두 태그를 가진다
+        Page<ImageRow> both = imageAssetRepo.findPage(projectId, null, TagFilter.parse("tag1,tag2", "all"), ImageSort.ID, false, 0, 50);
+        both.getContent().forEach(a -> assertThat(List.of(a.tags().split(","))).contains("tag1", "tag2"));
+    }
+
+    /** 이미지 i 의 태그: tag(i%VOCAB+1), tag((i*7)%VOCAB+1), tag((i*13)%VOCAB+1) */
+    private static List<String> tagsOf(int i) {
+        List<String> t = new ArrayList<>(3);
+        for (int m : new int[] { 1, 7, 13 }) {
+            String tag = "tag" + ((long) i * m % VOCAB + 1);
+            if (!t.contains(tag)) t.add(tag);
+        }
+        return t;
+    }
+
+    private static void load(JdbcTemplate jdbc, long projectId) {
+        Timestamp now = Timestamp.from(Instant.now());
+        long baseId = 100_000_000L; // 시퀀스 범위와 겹치지 않게
+        for (int from = 0; from < ROWS; from += CHUNK) {
+            List<Object[]> assets = new ArrayList<>(CHUNK);
+            List<Object[]> tags = new ArrayList<>(CHUNK * 3);
+            for (int i = from; i < Math.min(ROWS, from + CHUNK); i++) {
+                long id = baseId + i;
+                List<String> t = tagsOf(i);
+                assets.add(new Object[] { id, projectId, "img-" + i + ".jpg", "%064d".formatted(i), "original/bench/" + i,
+                        String.join(",", t), new Timestamp(now.getTime() + i) });
+                for (String tag : t) tags.add(new Object[] { id, tag, projectId });
+            }
+            jdbc.batchUpdate("""
+                insert into image_asset (id, project_id, original_filename, content_type, size_bytes, content_hash, object_key,
+                                         status, soft_delete, tags, version, created_at, updated_at)
+                values (?, ?, ?, 'image/jpeg', 1024, ?, ?, 'READY', false, ?, 0, ?, ?)
+                """, assets.stream().map(a -> new Object[] { a[0], a[1], a[2], a[3], a[4], a[5], a[6], a[6] }).toList());
+            jdbc.batchUpdate("insert into image_tag (image_id, tag, project_id) values (?, ?, ?)", tags);
+        }
+    }
+
+    private long likePageCount(long projectId, String tag) {
+        String where = " from ImageAsset i where i.project.id = :projectId and i.softDelete = false"
+                + " and lower(i.tags) like lower(concat('%', :tags, '%'))";
+        em.createQuery("select i" + where + " order by i.id desc", ImageAsset.class)
+                .setParameter("projectId", projectId).setParameter("tags", tag).setMaxResults(50).getResultList();
+        return em.createQuery("select count(i)" + where, Long.class)
+                .setParameter("projectId", projectId).setParameter("tags", tag).getSingleResult();
+    }
+
+    private long time(String label, Supplier<Long> run) {
+        long result = run.get(); // warm-up
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long t0 = System.nanoTime();
+            result = run.get();
+            best = Math.min(best, System.nanoTime() - t0);
+            em.clear();
+        }
+        System.out.printf("%s: best %.1fms (result=%,d)%n", label, best / 1e6, result);
+        return result;
+    }
+}
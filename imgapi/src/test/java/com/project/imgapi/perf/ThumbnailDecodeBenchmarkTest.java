@@ -0,0 +1,74 @@
+package com.project.imgapi.perf;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import com.project.imgapi.util.ImageDecodeUtil;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 512px 썸네일 1건당 디코드+축소 지연/할당량: ImageIO.read 전체 디코드 vs 서브샘플링 디코드.
+ * 큰 JPEG 를 만들어야 해서 무겁다 → -Dperf.bench=true 일 때만 실행.
+ */
+@EnabledIfSystemProperty(named = "perf.bench", matches = "true")
+class ThumbnailDecodeBenchmarkTest {
+
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = Integer.getInteger("perf.bench.iterations", 10);
+    private static final int TARGET = 512;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    interface Decoder { BufferedImage decode(byte[] jpeg) throws Exception; }
+
+    @Test
+    @DisplayName("원본 크기별 썸네일 디코드: full vs subsampled")
+    void fullVsSubsampled() throws Exception {
+        System.out.printf("%n== Thumbnail decode (target %dpx) ==%n", TARGET);
+        for (int[] size : List.of(new int[]{1024, 768}, new int[]{3000, 2000}, new int[]{6000, 4000})) {
+            byte[] jpeg = ValidateImageFactory.jpeg(size[0], size[1]);
+            String label = size[0] + "x" + size[1];
+
+            run("full " + label, jpeg, b -> ImageIO.read(new ByteArrayInputStream(b)));
+            run("subs " + label, jpeg, b -> ImageDecodeUtil.readSubsampled(new ByteArrayInputStream(b), TARGET));
+        }
+    }
+
+    private static void run(String name, byte[] jpeg, Decoder decoder) throws Exception {
+        for (int i = 0; i < WARMUP; i++) scale(decoder.decode(jpeg));
+
+        PerfMetrics m = new PerfMetrics(name);
+        long tid = Thread.currentThread().threadId();
+        long alloc = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long a0 = THREADS.getThreadAllocatedBytes(tid);
+            long t0 = System.nanoTime();
+            BufferedImage out = scale(decoder.decode(jpeg));
+            m.ok(System.nanoTime() - t0);
+            alloc += THREADS.getThreadAllocatedBytes(tid) - a0;
+            assertThat(out.getWidth()).isEqualTo(TARGET);
+        }
+        var r = m.snapshot(1);
+        System.out.printf("[%s] p50=%.1fms, p95=%.1fms, alloc/op=%.1fMB%n",
+                r.name(), r.p50ms(), r.p95ms(), alloc / (double) ITERATIONS / (1 << 20));
+    }
+
+    private static BufferedImage scale(BufferedImage src) {
+        int th = Math.max(1, src.getHeight() * TARGET / src.getWidth());
+        BufferedImage out = new BufferedImage(TARGET, th, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        g.drawImage(src, 0, 0, TARGET, th, null);
+        g.dispose();
+        return out;
+    }
+}
@@ -0,0 +1,95 @@
+package com.project.imgapi.perf;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.project.imgapi.util.HashUtil;
+import com.project.imgapi.util.HashingInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 업로드 경로의 디스크 읽기량/지연 비교.
+ * before: 해시용 1회 + PUT 용 1회 (MultipartFile 임시파일 2회 읽기)
+ * after : HashingInputStream 으로 PUT 하면서 해시 (1회 읽기)
+ *
+ * 실행: ./gradlew test --tests '*UploadReadPassBenchmarkTest' -Dperf.bench=true [-Dperf.bench.iterations=20]
+ */
+@EnabledIfSystemProperty(named = "perf.bench", matches = "true")
+class UploadReadPassBenchmarkTest {
+
+    private static final int ITERATIONS = Integer.getInteger("perf.bench.iterations", 20);
+
+    @TempDir Path dir;
+
+    @Test
+    @DisplayName("업로드 1파일당 디스크 읽기 바이트/지연: 2-pass vs single-pass")
+    void twoPassVsSinglePass() throws Exception {
+        System.out.printf("%n== Upload read passes (per file) ==%n");
+        for (int kb : List.of(256, 1024, 5 * 1024)) {
+            Path file = dir.resolve("upload-" + kb + ".bin");
+            Files.write(file, BytesFactory.randomBytes(kb * 1024, false));
+
+            PerfMetrics before = new PerfMetrics("2-pass " + kb + "KB");
+            PerfMetrics after = new PerfMetrics("1-pass " + kb + "KB");
+            AtomicLong beforeRead = new AtomicLong();
+            AtomicLong afterRead = new AtomicLong();
+            String h1 = null, h2 = null;
+
+            for (int i = 0; i < ITERATIONS; i++) {
+                long t0 = System.nanoTime();
+                try (InputStream forHash = counting(file, beforeRead);
+                     InputStream forPut = counting(file, beforeRead)) {
+                    h1 = HashUtil.sha256Hex(forHash);
+                    forPut.transferTo(OutputStream.nullOutputStream()); // S3 PUT 대용
+                }
+                before.ok(System.nanoTime() - t0);
+
+                t0 = System.nanoTime();
+                try (HashingInputStream in = new HashingInputStream(counting(file, afterRead))) {
+                    in.transferTo(OutputStream.nullOutputStream());
+                    h2 = in.sha256Hex();
+                }
+                after.ok(System.nanoTime() - t0);
+            }
+
+            assertEquals(h1, h2);
+            assertEquals(2L * kb * 1024 * ITERATIONS, beforeRead.get());
+            assertEquals(1L * kb * 1024 * ITERATIONS, afterRead.get());
+
+            print(before.snapshot(1), beforeRead.get() / ITERATIONS);
+            print(after.snapshot(1), afterRead.get() / ITERATIONS);
+        }
+    }
+
+    private static InputStream counting(Path file, AtomicLong counter) throws IOException {
+        return new FilterInputStream(Files.newInputStream(file)) {
+            @Override public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) counter.incrementAndGet();
+                return b;
+            }
+            @Override public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                if (n > 0) counter.addAndGet(n);
+                return n;
+            }
+        };
+    }
+
+    private static void print(PerfMetrics.Report r, long bytesPerFile) {
+        System.out.printf("[%s] diskRead/file=%dB, p50=%.2fms, p95=%.2fms%n",
+                r.name(), bytesPerFile, r.p50ms(), r.p95ms());
+    }
+}
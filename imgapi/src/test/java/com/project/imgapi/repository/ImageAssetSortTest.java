@@ -0,0 +1,105 @@
+package com.project.imgapi.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import com.project.imgapi.dto.ImageCursor;
+import com.project.imgapi.dto.ImageRow;
+import com.project.imgapi.entity.Project;
+import com.project.imgapi.enums.ImageSort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** 정렬 키 x 방향마다 offset 과 keyset(커서 왕복) 페이징이 같은 순서를 끝까지 돌려주는지. 정렬 키가 같으면 id 로. */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+class ImageAssetSortTest {
+
+    private static final long BASE_ID = 900_000_000L; // 시퀀스 범위와 겹치지 않게
+    private static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired ImageAssetRepository imageAssetRepo;
+    @Autowired ProjectRepository projectRepo;
+    @Autowired DataSource dataSource;
+
+    long projectId;
+
+    static Stream<Arguments> sorts() {
+        return Stream.of(ImageSort.values()).flatMap(s -> Stream.of(Arguments.of(s, true), Arguments.of(s, false)));
+    }
+
+    @BeforeEach
+    void setUp() {
+        Project project = new Project();
+        project.setCode("sort-test");
+        projectId = projectRepo.saveAndFlush(project).getId();
+        // 정렬 키 값이 겹치는 행을 섞어 id 보조 정렬까지 확인 (filename, createdAt, sizeBytes)
+        Object[][] rows = {
+            { "c.jpg", 3, 300 }, { "a.jpg", 1, 100 }, { "b.jpg", 3, 500 }, { "a.jpg", 2, 300 },
+            { "e.jpg", 0, 200 }, { "d.jpg", 2, 100 }, { "b.jpg", 5, 400 },
+        };
+        List<Object[]> args = new ArrayList<>();
+        for (int i = 0; i < rows.length; i++) {
+            Timestamp at = Timestamp.from(T0.plusSeconds((int) rows[i][1]));
+            args.add(new Object[] { BASE_ID + i, projectId, rows[i][0], rows[i][2], "%064d".formatted(i), "original/" + i, at, at });
+        }
+        new JdbcTemplate(dataSource).batchUpdate("""
+            insert into image_asset (id, project_id, original_filename, content_type, size_bytes, content_hash, object_key,
+                                     status, soft_delete, version, created_at, updated_at)
+            values (?, ?, ?, 'image/jpeg', ?, ?, ?, 'READY', false, 0, ?, ?)
+            """, args);
+    }
+
+    @ParameterizedTest(name = "{0} asc={1}")
+    @MethodSource("sorts")
+    @DisplayName("정렬 키/방향별 offset 과 keyset 순서")
+    void sameOrderBothWays(ImageSort sort, boolean asc) {
+        List<ImageRow> all = imageAssetRepo.findRows(projectId, null, null, sort, asc, 0, 100);
+        assertThat(all).hasSize(7);
+        assertThat(ids(all)).isEqualTo(ids(all.stream().sorted(expected(sort, asc)).toList()));
+
+        // keyset: 2건씩, 커서는 클라이언트에 나갔다 돌아오는 것처럼 encode/decode
+        List<ImageRow> walked = new ArrayList<>();
+        ImageCursor after = null;
+        while (true) {
+            List<ImageRow> page = imageAssetRepo.scanKeyset(projectId, null, null, sort, asc, after, 2);
+            walked.addAll(page);
+            if (page.size() < 2) break;
+            after = ImageCursor.decode(ImageCursor.after(sort, asc, page.get(1)).encode());
+        }
+        assertThat(ids(walked)).isEqualTo(ids(all));
+
+        // offset: 3건씩
+        List<ImageRow> paged = new ArrayList<>();
+        for (int offset = 0; offset < 7; offset += 3) paged.addAll(imageAssetRepo.findRows(projectId, null, null, sort, asc, offset, 3));
+        assertThat(ids(paged)).isEqualTo(ids(all));
+    }
+
+    private static Comparator<ImageRow> expected(ImageSort sort, boolean asc) {
+        Comparator<ImageRow> byKey = switch (sort) {
+            case ID -> Comparator.comparing(ImageRow::id);
+            case CREATED_AT -> Comparator.comparing(ImageRow::createdAt).thenComparing(ImageRow::id);
+            case SIZE_BYTES -> Comparator.comparingLong(ImageRow::sizeBytes).thenComparing(ImageRow::id);
+            case FILENAME -> Comparator.comparing(ImageRow::filename).thenComparing(ImageRow::id);
+        };
+        return asc ? byKey : byKey.reversed();
+    }
+
+    private static List<Long> ids(List<ImageRow> rows) {
+        return rows.stream().map(ImageRow::id).toList();
+    }
+}
@@ -0,0 +1,37 @@
+package com.project.imgapi.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+
+import com.project.imgapi.service.ThumbnailOutbox.Claimed;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AmqpThumbnailListenerTest {
+
+    final ThumbnailService thumbnailService = Mockito.mock(ThumbnailService.class);
+    final AmqpThumbnailListener listener = new AmqpThumbnailListener(thumbnailService);
+    final Claimed job = new Claimed(10L, 20L, 3L, 5, "node-a");
+
+    @Test
+    @DisplayName("성공이나 재시도 예정 실패는 예외 없이 ack")
+    void ackWhenNotExhausted() {
+        when(thumbnailService.execute(job, null)).thenReturn(false);
+
+        assertThatCode(() -> listener.onJob(job)).doesNotThrowAnyException();
+        verify(thumbnailService).execute(job, null);
+    }
+
+    @Test
+    @DisplayName("재시도 한도를 넘기면 재큐잉 없이 거절 → DLQ")
+    void rejectToDlqWhenExhausted() {
+        when(thumbnailService.execute(job, null)).thenReturn(true);
+
+        assertThatThrownBy(() -> listener.onJob(job))
+                .isInstanceOf(AmqpRejectAndDontRequeueException.class)
+                .hasMessageContaining("10");
+    }
+}
@@ -0,0 +1,84 @@
+package com.project.imgapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.project.imgapi.dto.ImageDetailRow;
+import com.project.imgapi.enums.ImageStatus;
+import com.project.imgapi.repository.ImageAssetRepository;
+import com.project.imgapi.repository.ImageRenditionRepository;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ImageDetailCacheTest {
+
+    ImageAssetRepository imageAssetRepo;
+    ImageRenditionRepository renditionRepo;
+    final AtomicLong dbVersion = new AtomicLong(1);
+    final List<String> broadcast = new ArrayList<>();
+    ImageDetailCache cache;
+
+    @BeforeEach
+    void setUp() {
+        imageAssetRepo = Mockito.mock(ImageAssetRepository.class);
+        renditionRepo = Mockito.mock(ImageRenditionRepository.class);
+        when(imageAssetRepo.findDetailRow(anyLong())).thenAnswer(inv -> Optional.of(row(inv.getArgument(0), dbVersion.get())));
+        when(renditionRepo.findRowsByImageIdIn(any())).thenReturn(List.of());
+        cache = new ImageDetailCache(imageAssetRepo, renditionRepo, (id, v) -> broadcast.add(id + ":" + v),
+                1000, 60, new SimpleMeterRegistry());
+    }
+
+    private static ImageDetailRow row(Long id, long version) {
+        return new ImageDetailRow(id, 1L, "a.jpg", "image/jpeg", 10, null, null, ImageStatus.READY, "o/" + id, null,
+                Instant.EPOCH, Instant.EPOCH, version);
+    }
+
+    @Test
+    @DisplayName("두 번째 조회는 캐시에서, 무효화 후에는 DB 에서 새 version")
+    void hitThenInvalidate() {
+        assertThat(cache.find(7L).orElseThrow().row().version()).isEqualTo(1);
+        assertThat(cache.find(7L).orElseThrow().row().version()).isEqualTo(1);
+        verify(imageAssetRepo, times(1)).findDetailRow(7L);
+
+        dbVersion.set(2);
+        cache.invalidate(7L, 2); // 트랜잭션 밖이면 바로
+        assertThat(broadcast).containsExactly("7:2");
+        assertThat(cache.find(7L).orElseThrow().row().version()).isEqualTo(2);
+        verify(imageAssetRepo, times(2)).findDetailRow(7L);
+    }
+
+    @Test
+    @DisplayName("무효화 전 스냅샷으로 읽은 옛 version 은 캐시에 넣지 않는다")
+    void staleLoadIsNotCached() {
+        cache.invalidate(7L, 2);     // DB 는 아직 v1 을 돌려주는 (커밋 전 스냅샷) 상황
+        assertThat(cache.find(7L).orElseThrow().row().version()).isEqualTo(1);
+        cache.find(7L);
+        verify(imageAssetRepo, times(2)).findDetailRow(7L); // 캐시되지 않아 다시 읽는다
+
+        dbVersion.set(2);
+        cache.find(7L);
+        cache.find(7L);
+        verify(imageAssetRepo, times(3)).findDetailRow(7L);
+    }
+
+    @Test
+    @DisplayName("다른 노드의 무효화도 로컬 항목을 지운다")
+    void remoteInvalidation() {
+        cache.find(7L);
+        dbVersion.set(3);
+        cache.onRemoteInvalidation(7L, 3);
+        assertThat(cache.find(7L).orElseThrow().row().version()).isEqualTo(3);
+        assertThat(broadcast).isEmpty(); // 받은 무효화는 다시 보내지 않는다
+    }
+}
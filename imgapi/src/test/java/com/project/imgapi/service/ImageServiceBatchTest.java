@@ -0,0 +1,95 @@
+package com.project.imgapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import com.project.imgapi.dto.ImageDetailRow;
+import com.project.imgapi.dto.ImageDtos.Detail;
+import com.project.imgapi.dto.ImageDtos.DetailBatch;
+import com.project.imgapi.enums.ImageStatus;
+import com.project.imgapi.repository.ImageAssetRepository;
+import com.project.imgapi.repository.ProjectStatsRepository;
+import com.project.imgapi.service.ImageDetailCache.Entry;
+import com.project.imgapi.storage.BlobStorage;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ImageServiceBatchTest {
+
+    /** 존재하는 (삭제되지 않은) 이미지 id */
+    final Set<Long> existing = Set.of(1L, 2L, 3L, 5L);
+    ImageDetailCache detailCache;
+    ImageService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        detailCache = Mockito.mock(ImageDetailCache.class);
+        when(detailCache.findAll(any())).thenAnswer(inv -> {
+            Map<Long, Entry> found = new HashMap<>();
+            for (Long id : (Collection<Long>) inv.getArgument(0)) {
+                if (existing.contains(id)) found.put(id, new Entry(row(id), List.of()));
+            }
+            return found;
+        });
+        service = new ImageService(Mockito.mock(ImageAssetRepository.class), detailCache, Mockito.mock(BlobStorage.class),
+                Mockito.mock(ThumbnailDispatcher.class), null, null, null, Mockito.mock(ProjectStatsRepository.class),
+                null, new SimpleMeterRegistry());
+    }
+
+    private static ImageDetailRow row(Long id) {
+        return new ImageDetailRow(id, 1L, id + ".jpg", "image/jpeg", 10, null, null, ImageStatus.READY, "o/" + id, null,
+                Instant.EPOCH, Instant.EPOCH, 0L);
+    }
+
+    private static List<Long> ids(DetailBatch b) {
+        return b.items().stream().map(Detail::id).toList();
+    }
+
+    @Test
+    @DisplayName("결과는 요청 순서, 없는 id 는 missing 에 요청 순서로")
+    void keepsRequestOrderAndReportsMissing() {
+        DetailBatch b = service.getMany(List.of(5L, 4L, 1L, 9L, 3L), 600);
+
+        assertThat(ids(b)).containsExactly(5L, 1L, 3L);
+        assertThat(b.missing()).containsExactly(4L, 9L);
+    }
+
+    @Test
+    @DisplayName("중복 id 는 처음 위치에 한 번만, 캐시/DB 조회도 한 번")
+    void duplicatesOnce() {
+        DetailBatch b = service.getMany(List.of(2L, 1L, 2L, 7L, 7L, 1L), 600);
+
+        assertThat(ids(b)).containsExactly(2L, 1L);
+        assertThat(b.missing()).containsExactly(7L);
+        verify(detailCache).findAll(argThat(c -> c.size() == 3));
+    }
+
+    @Test
+    @DisplayName("서로 다른 id 는 최대 100개 (중복은 세지 않는다)")
+    void capsDistinctIds() {
+        List<Long> hundred = new ArrayList<>(LongStream.rangeClosed(1, ImageService.MAX_BATCH_IDS).boxed().toList());
+        hundred.add(1L);
+        assertThat(service.getMany(hundred, 600).items()).hasSize(existing.size());
+
+        List<Long> tooMany = LongStream.rangeClosed(1, ImageService.MAX_BATCH_IDS + 1).boxed().toList();
+        assertThatThrownBy(() -> service.getMany(tooMany, 600))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("max " + ImageService.MAX_BATCH_IDS);
+        verify(detailCache, times(1)).findAll(any()); // 초과 요청은 조회하지 않는다
+    }
+}
@@ -0,0 +1,71 @@
+package com.project.imgapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.project.imgapi.service.InlineImageBudget.InlineImage;
+import com.project.imgapi.service.ThumbnailOutbox.Claimed;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LocalThumbnailDispatcherTest {
+
+    /** 대기열 대신 목록에 쌓는 executor. accept 가 false 면 거절. */
+    final List<Runnable> queued = new ArrayList<>();
+    boolean accept = true;
+
+    ThumbnailExecutor executor;
+    ThumbnailService thumbnailService;
+    InlineImageBudget budget;
+    LocalThumbnailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        executor = Mockito.mock(ThumbnailExecutor.class);
+        when(executor.submit(anyLong(), any())).thenAnswer(inv -> accept && queued.add(inv.getArgument(1)));
+        thumbnailService = Mockito.mock(ThumbnailService.class);
+        budget = new InlineImageBudget(1024, 4096, new SimpleMeterRegistry());
+        dispatcher = new LocalThumbnailDispatcher(executor, thumbnailService);
+    }
+
+    private InlineImage capture() throws Exception {
+        return budget.tryCapture(new MockMultipartFile("file", "a.jpg", "image/jpeg", new byte[100]));
+    }
+
+    @Test
+    @DisplayName("작업은 그 프로젝트의 대기열로 들어가고, 워커가 돌 때 inline 과 함께 실행된다")
+    void dispatchQueuesByProject() throws Exception {
+        Claimed job = new Claimed(10L, 20L, 3L, 1, "node-a");
+        InlineImage inline = capture();
+
+        dispatcher.dispatch(job, inline);
+
+        verify(executor).submit(eq(3L), any());
+        verifyNoInteractions(thumbnailService); // 호출 스레드에서는 실행하지 않는다
+        queued.get(0).run();
+        verify(thumbnailService).execute(job, inline);
+    }
+
+    @Test
+    @DisplayName("거절되면 실행하지 않고 inline 을 반환한다 (lease 만료 후 재선점)")
+    void rejectedReleasesInline() throws Exception {
+        accept = false;
+        InlineImage inline = capture();
+
+        dispatcher.dispatch(new Claimed(10L, 20L, 3L, 1, "node-a"), inline);
+
+        assertThat(queued).isEmpty();
+        verifyNoInteractions(thumbnailService);
+        assertThat(inline.bytes()).isNull();
+        assertThat(capture()).isNotNull(); // 예산이 돌아왔다
+    }
+}
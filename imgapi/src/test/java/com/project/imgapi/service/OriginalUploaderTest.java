@@ -0,0 +1,110 @@
+package com.project.imgapi.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.project.imgapi.service.OriginalUploader.StoredOriginal;
+import com.project.imgapi.storage.BlobStorage;
+import com.project.imgapi.util.HashUtil;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OriginalUploaderTest {
+
+    /** 메모리 스토리지. contentType 에 "fail" 이 들어가면 PUT 실패. */
+    static class MemoryStorage implements BlobStorage {
+        final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Override public String putObject(String keyHint, String contentType, long size, InputStream in) {
+            int now = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(now, Math::max);
+            try {
+                byte[] bytes = in.readAllBytes();
+                Thread.sleep(ThreadLocalRandom.current().nextInt(5, 20));
+                if (contentType.contains("fail")) throw new IllegalStateException("put failed");
+                String key = keyHint + "/" + UUID.randomUUID();
+                objects.put(key, bytes);
+                return key;
+            } catch (InterruptedException | java.io.IOException e) {
+                throw new RuntimeException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+        @Override public InputStream openRead(String key) { return new java.io.ByteArrayInputStream(objects.get(key)); }
+        @Override public void deleteObject(String key) { objects.remove(key); }
+        @Override public URL presignGet(String key, int expirySeconds) { return null; }
+    }
+
+    private static InlineImageBudget budget() {
+        return new InlineImageBudget(8 << 20, 64 << 20, new SimpleMeterRegistry());
+    }
+
+    private static List<MultipartFile> files(int n, String contentType) {
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            byte[] b = new byte[1024];
+            ThreadLocalRandom.current().nextBytes(b);
+            files.add(new MockMultipartFile("files", "f" + i + ".jpg", i == 5 ? contentType : "image/jpeg", b));
+        }
+        return files;
+    }
+
+    @Test
+    @DisplayName("병렬 저장 결과는 입력 순서를 유지하고 요청당 동시성 상한을 지킨다")
+    void keepsInputOrder() throws Exception {
+        MemoryStorage storage = new MemoryStorage();
+        OriginalUploader uploader = new OriginalUploader(storage, budget(), 3, 64);
+        List<MultipartFile> files = files(12, "image/jpeg");
+
+        List<StoredOriginal> stored = uploader.storeAll(1L, files, Set.of());
+
+        assertThat(stored).hasSize(12);
+        for (int i = 0; i < files.size(); i++) {
+            assertThat(stored.get(i).index()).isEqualTo(i);
+            assertThat(stored.get(i).contentHash())
+                    .isEqualTo(HashUtil.sha256Hex(files.get(i).getInputStream()));
+        }
+        assertThat(storage.maxInFlight.get()).isLessThanOrEqualTo(3);
+        assertThat(storage.objects).hasSize(12);
+    }
+
+    @Test
+    @DisplayName("한 파일이라도 실패하면 예외 + 저장된 객체 전부 정리")
+    void failureCleansUp() {
+        MemoryStorage storage = new MemoryStorage();
+        OriginalUploader uploader = new OriginalUploader(storage, budget(), 4, 64);
+
+        assertThatThrownBy(() -> uploader.storeAll(1L, files(12, "image/fail"), Set.of()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(storage.objects).isEmpty();
+    }
+
+    @Test
+    @DisplayName("같은 요청 안의 동일 파일은 저장 전에 첫 파일로 묶인다")
+    void findsInRequestDuplicates() {
+        OriginalUploader uploader = new OriginalUploader(new MemoryStorage(), budget(), 4, 64);
+        byte[] a = {1, 2, 3, 4};
+        byte[] b = {4, 3, 2, 1};
+        List<MultipartFile> files = List.of(
+                new MockMultipartFile("files", "a.jpg", "image/jpeg", a),
+                new MockMultipartFile("files", "b.jpg", "image/jpeg", b),
+                new MockMultipartFile("files", "a2.jpg", "image/jpeg", a.clone()),
+                new MockMultipartFile("files", "c.jpg", "image/jpeg", new byte[]{9}),
+                new MockMultipartFile("files", "a3.jpg", "image/jpeg", a.clone()));
+
+        assertThat(uploader.findInRequestDuplicates(files)).containsExactlyInAnyOrderEntriesOf(Map.of(2, 0, 4, 0));
+    }
+}
@@ -0,0 +1,83 @@
+package com.project.imgapi.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.project.imgapi.service.ProjectFairQueue.Polled;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ProjectFairQueueTest {
+
+    @Test
+    @DisplayName("대량 적체 프로젝트가 있어도 나중에 온 프로젝트가 다음 차례에 처리된다")
+    void roundRobinAcrossProjects() throws Exception {
+        ProjectFairQueue<String> q = new ProjectFairQueue<>(1000, 0, 0, 1);
+        for (int i = 0; i < 100; i++) q.offer(1L, "bulk-" + i);
+        q.offer(2L, "small-0");
+        q.offer(2L, "small-1");
+
+        List<String> order = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Polled<String> p = q.take();
+            order.add(p.task());
+            q.done(p.projectId());
+        }
+        assertThat(order).containsExactly("bulk-0", "small-0", "bulk-1", "small-1", "bulk-2");
+    }
+
+    @Test
+    @DisplayName("quantum 만큼 연속으로 꺼낸 뒤 차례를 넘긴다")
+    void quantumBurst() throws Exception {
+        ProjectFairQueue<String> q = new ProjectFairQueue<>(1000, 0, 0, 2);
+        for (int i = 0; i < 3; i++) q.offer(1L, "a" + i);
+        for (int i = 0; i < 3; i++) q.offer(2L, "b" + i);
+
+        List<String> order = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Polled<String> p = q.take();
+            order.add(p.task());
+            q.done(p.projectId());
+        }
+        assertThat(order).containsExactly("a0", "a1", "b0", "b1", "a2", "b2");
+    }
+
+    @Test
+    @DisplayName("프로젝트별 동시 실행 상한에 걸리면 다른 프로젝트를 먼저 꺼내고, 없으면 done 까지 기다린다")
+    void perProjectConcurrencyCap() throws Exception {
+        ProjectFairQueue<String> q = new ProjectFairQueue<>(1000, 0, 1, 1);
+        q.offer(1L, "a0");
+        q.offer(1L, "a1");
+        q.offer(2L, "b0");
+
+        assertThat(q.take().task()).isEqualTo("a0");  // 1번 프로젝트 실행 중
+        assertThat(q.take().task()).isEqualTo("b0");  // a1 은 상한 때문에 건너뜀
+        q.done(2L);
+
+        CompletableFuture<Polled<String>> next = CompletableFuture.supplyAsync(() -> {
+            try { return q.take(); } catch (InterruptedException e) { throw new RuntimeException(e); }
+        });
+        Thread.sleep(100);
+        assertThat(next).isNotDone();
+        q.done(1L);
+        assertThat(next.get(1, TimeUnit.SECONDS).task()).isEqualTo("a1");
+        q.close();
+    }
+
+    @Test
+    @DisplayName("전체/프로젝트별 대기 상한")
+    void admission() {
+        ProjectFairQueue<String> q = new ProjectFairQueue<>(10, 4, 0, 1);
+        for (int i = 0; i < 4; i++) assertThat(q.offer(1L, "a" + i)).isTrue();
+
+        assertThat(q.canAccept(1L, 1)).isFalse();   // 1번 프로젝트는 상한
+        assertThat(q.canAccept(2L, 4)).isTrue();    // 다른 프로젝트는 받음
+        assertThat(q.canAccept(2L, 7)).isFalse();   // 전체 상한
+        assertThat(q.remainingCapacity()).isEqualTo(6);
+    }
+}
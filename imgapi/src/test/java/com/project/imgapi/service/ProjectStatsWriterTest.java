@@ -0,0 +1,177 @@
+package com.project.imgapi.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.project.imgapi.entity.Project;
+import com.project.imgapi.enums.ImageStatus;
+import com.project.imgapi.repository.ProjectRepository;
+import com.project.imgapi.service.ProjectStatsWriter.Delta;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * project_stats 가 이미지 변경마다 재집계 값과 같은지. 호출부(업로드/썸네일 완료·실패/patch/삭제)와 같은 순서로
+ * 행을 바꾸고(flush 에 해당) 같은 delta 를 넘긴다. on conflict 때문에 실제와 같은 PostgreSQL 모드 H2 에서 돈다.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:statsdb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 트랜잭션 경계(커밋 전/후)가 검증 대상이라 직접 연다
+class ProjectStatsWriterTest {
+
+    private static final AtomicLong NEXT_ID = new AtomicLong(800_000_000L); // 시퀀스 범위와 겹치지 않게
+
+    @Autowired ProjectRepository projectRepo;
+    @Autowired DataSource dataSource;
+    @Autowired PlatformTransactionManager txManager;
+
+    JdbcTemplate jdbc;
+    ProjectStatsWriter writer;
+    TransactionTemplate tx;
+    long projectId;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(dataSource);
+        writer = new ProjectStatsWriter(jdbc);
+        tx = new TransactionTemplate(txManager);
+        Project project = new Project();
+        project.setCode("stats-" + NEXT_ID.get());
+        projectId = projectRepo.saveAndFlush(project).getId();
+    }
+
+    @Test
+    @DisplayName("업로드 → READY → FAILED → patch → 삭제 마다 집계 = 재집계")
+    void deltasMatchRecount() {
+        // 업로드: 첫 갱신은 행이 없어 재집계로 만들고, 두 번째부터는 delta
+        List<Long> first = tx.execute(s -> upload(100, 200, 300));
+        assertMatchesRecount(3, 3, 0, 0, 600);
+        List<Long> second = tx.execute(s -> upload(50, 50));
+        assertMatchesRecount(5, 5, 0, 0, 700);
+
+        tx.executeWithoutResult(s -> changeStatus(first.get(0), ImageStatus.PROCESSING, ImageStatus.READY));  // 썸네일 완료
+        assertMatchesRecount(5, 4, 1, 0, 700);
+        tx.executeWithoutResult(s -> changeStatus(first.get(1), ImageStatus.PROCESSING, ImageStatus.FAILED)); // 재시도 한도 초과
+        assertMatchesRecount(5, 3, 1, 1, 700);
+        tx.executeWithoutResult(s -> changeStatus(first.get(1), ImageStatus.FAILED, ImageStatus.READY));      // patch status
+        assertMatchesRecount(5, 3, 2, 0, 700);
+        tx.executeWithoutResult(s -> changeStatus(second.get(0), ImageStatus.PROCESSING, ImageStatus.DELETED)); // patch → DELETED 는 imageCount 에만
+        assertMatchesRecount(5, 2, 2, 0, 700);
+
+        tx.executeWithoutResult(s -> softDelete(first.get(0), ImageStatus.READY, 100));
+        assertMatchesRecount(4, 2, 1, 0, 600);
+        tx.executeWithoutResult(s -> softDelete(second.get(0), ImageStatus.DELETED, 50));
+        assertMatchesRecount(3, 2, 1, 0, 550);
+    }
+
+    @Test
+    @Timeout(30)
+    @DisplayName("행 생성(재집계) 중 커밋 전인 다른 업로드가 있어도 집계가 맞는다")
+    void recountRacingInsert() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch recounted = new CountDownLatch(1);
+        // B: 이미지를 넣고(커밋 전) A 의 재집계가 끝날 때까지 기다렸다가 delta 를 더한다
+        CompletableFuture<Void> b = CompletableFuture.runAsync(() -> tx.executeWithoutResult(s -> {
+            List<Long> ids = insertAssets(ImageStatus.PROCESSING, 10, 20);
+            inserted.countDown();
+            await(recounted);
+            writer.apply(projectId, Delta.of(ImageStatus.PROCESSING, ids.size(), 30));
+        }));
+
+        // A: 행이 없어 재집계로 만든다. B 의 커밋 전 행은 보이지 않으므로 세지 않는다
+        await(inserted);
+        tx.execute(s -> upload(100));
+        recounted.countDown();
+        b.get();
+
+        assertMatchesRecount(3, 3, 0, 0, 130);
+    }
+
+    /** ImageAssetWriter.insertAll 과 같은 순서: insert → 집계 */
+    private List<Long> upload(long... sizes) {
+        List<Long> ids = insertAssets(ImageStatus.PROCESSING, sizes);
+        long bytes = 0;
+        for (long s : sizes) bytes += s;
+        writer.apply(projectId, Delta.of(ImageStatus.PROCESSING, sizes.length, bytes));
+        return ids;
+    }
+
+    private void changeStatus(Long id, ImageStatus from, ImageStatus to) {
+        jdbc.update("update image_asset set status = ? where id = ?", to.name(), id);
+        writer.apply(projectId, Delta.transition(from, to));
+    }
+
+    /** ImageService.softDelete 와 같은 delta */
+    private void softDelete(Long id, ImageStatus from, long size) {
+        jdbc.update("update image_asset set soft_delete = true, status = 'DELETED' where id = ?", id);
+        writer.apply(projectId, Delta.of(from, -1, -size));
+    }
+
+    private List<Long> insertAssets(ImageStatus status, long... sizes) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Long> ids = new ArrayList<>();
+        for (long size : sizes) {
+            long id = NEXT_ID.incrementAndGet();
+            jdbc.update("""
+                insert into image_asset (id, project_id, original_filename, content_type, size_bytes, content_hash, object_key,
+                                         status, soft_delete, version, created_at, updated_at)
+                values (?, ?, ?, 'image/jpeg', ?, ?, ?, ?, false, 0, ?, ?)
+                """, id, projectId, id + ".jpg", size, "%064d".formatted(id), "original/" + id, status.name(), now, now);
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private void assertMatchesRecount(long images, long processing, long ready, long failed, long bytes) {
+        Map<String, Object> stats = jdbc.queryForMap("""
+            select image_count, processing_count, ready_count, failed_count, total_bytes from project_stats where project_id = ?
+            """, projectId);
+        Map<String, Object> actual = jdbc.queryForMap("""
+            select count(*) as image_count,
+                   count(case when status = 'PROCESSING' then 1 end) as processing_count,
+                   count(case when status = 'READY' then 1 end) as ready_count,
+                   count(case when status = 'FAILED' then 1 end) as failed_count,
+                   coalesce(sum(size_bytes), 0) as total_bytes
+            from image_asset where project_id = ? and soft_delete = false
+            """, projectId);
+        List<Long> expected = List.of(images, processing, ready, failed, bytes);
+        assertThat(longs(stats)).isEqualTo(expected);
+        assertThat(longs(actual)).isEqualTo(expected);
+    }
+
+    private static List<Long> longs(Map<String, Object> row) {
+        return row.values().stream().map(v -> ((Number) v).longValue()).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
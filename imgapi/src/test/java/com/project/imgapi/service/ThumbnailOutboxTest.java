@@ -0,0 +1,142 @@
+package com.project.imgapi.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManager;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import com.project.imgapi.config.ThumbnailAmqpConfig;
+import com.project.imgapi.entity.ThumbnailJob;
+import com.project.imgapi.enums.ThumbnailJobStatus;
+import com.project.imgapi.repository.ImageAssetRepository;
+import com.project.imgapi.repository.ThumbnailJobRepository;
+import com.project.imgapi.service.ThumbnailOutbox.Claimed;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * lease 만료 재선점과 AMQP in-flight 상한. 실제 선점 쿼리(FOR UPDATE SKIP LOCKED)를 PostgreSQL 모드 H2 에서 돌린다.
+ * outbox 는 프록시 없이 만들어 테스트 트랜잭션 안에서 부르고, 단계마다 flush/clear 로 커밋된 것처럼 DB 에서 다시 읽는다.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:outboxdb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ThumbnailOutboxTest {
+
+    @Autowired ThumbnailJobRepository jobRepo;
+    @Autowired ImageAssetRepository imageAssetRepo;
+    @Autowired DataSource dataSource;
+    @Autowired EntityManager em;
+
+    JdbcTemplate jdbc;
+    ThumbnailOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(dataSource);
+        outbox = new ThumbnailOutbox(jobRepo, imageAssetRepo, jdbc, Mockito.mock(ProjectStatsWriter.class),
+                Mockito.mock(ImageDetailCache.class), "imgapi", 300, 3, 1000);
+    }
+
+    private Long pendingJob(long imageId) {
+        ThumbnailJob j = new ThumbnailJob();
+        j.setImageId(imageId);
+        j.setProjectId(1L);
+        return jobRepo.saveAndFlush(j).getId();
+    }
+
+    private ThumbnailJob reload(Long id) {
+        em.flush();
+        em.clear();
+        return jobRepo.findById(id).orElseThrow();
+    }
+
+    private void expireLease(Long id) {
+        em.flush();
+        jdbc.update("update thumbnail_job set lease_until = ? where id = ?", Timestamp.from(Instant.now().minusSeconds(1)), id);
+        em.clear();
+    }
+
+    @Test
+    @DisplayName("lease 만료 재선점은 attempts 를 올리지 않고, 묵은 전달은 실행되지 않는다")
+    void reclaimKeepsAttemptsAndFencesStaleDelivery() {
+        Long id = pendingJob(10L);
+
+        Claimed first = outbox.claim(10).get(0);
+        assertThat(reload(id).getAttempts()).isZero();
+
+        // 첫 메시지가 브로커에서 lease 보다 오래 기다렸다 → 재선점
+        expireLease(id);
+        List<Claimed> again = outbox.claim(10);
+        assertThat(again).hasSize(1);
+        Claimed second = again.get(0);
+        assertThat(second.owner()).isNotEqualTo(first.owner());
+        assertThat(reload(id).getAttempts()).isZero();
+
+        // 묵은 첫 메시지는 시작하지 못하고, 새 선점은 시작하면서 attempts 1
+        assertThat(outbox.start(first)).isFalse();
+        assertThat(outbox.start(second)).isTrue();
+        ThumbnailJob j = reload(id);
+        assertThat(j.getAttempts()).isEqualTo(1);
+        assertThat(j.getLockedBy()).isEqualTo(second.owner());
+
+        // 실행 중(lease 갱신됨)에는 다시 선점되지 않는다
+        assertThat(outbox.claim(10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("실패 한 번은 재시도 대기로, 재선점 횟수와 무관하게 maxAttempts 번 실행 후에만 DEAD")
+    void attemptsCountRunsOnly() {
+        Long id = pendingJob(11L);
+        // 재선점이 여러 번 있어도
+        for (int i = 0; i < 5; i++) {
+            outbox.claim(10);
+            expireLease(id);
+        }
+        Claimed c = outbox.claim(10).get(0);
+        em.flush();
+        assertThat(outbox.start(c)).isTrue();
+        em.clear(); // 실패 기록은 실행 후 새 트랜잭션에서
+        assertThat(outbox.failed(c, new IllegalStateException("boom"))).isFalse();
+
+        ThumbnailJob j = reload(id);
+        assertThat(j.getStatus()).isEqualTo(ThumbnailJobStatus.PENDING);
+        assertThat(j.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("AMQP: 발행됐지만 끝나지 않은 작업이 maxInFlight 면 폴러가 더 선점/발행하지 않는다")
+    void amqpPollerBoundedByInFlight() {
+        pendingJob(20L);
+        pendingJob(21L);
+        pendingJob(22L);
+        RabbitTemplate rabbit = Mockito.mock(RabbitTemplate.class);
+        AmqpThumbnailDispatcher dispatcher = new AmqpThumbnailDispatcher(rabbit, jobRepo, 1);
+        ThumbnailOutboxPoller poller = new ThumbnailOutboxPoller(outbox, dispatcher, 50);
+
+        poller.poll();
+        em.flush();
+        poller.poll();
+        em.flush();
+
+        verify(rabbit, times(1)).convertAndSend(eq(ThumbnailAmqpConfig.EXCHANGE), eq(ThumbnailAmqpConfig.ROUTING_KEY), any(Object.class));
+        assertThat(jobRepo.countByStatus(ThumbnailJobStatus.RUNNING)).isEqualTo(1);
+        assertThat(jobRepo.countByStatus(ThumbnailJobStatus.PENDING)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,75 @@
+package com.project.imgapi.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.URL;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PresignedUrlCacheTest {
+
+    static class MutableClock extends Clock {
+        Instant now;
+        MutableClock(Instant now) { this.now = now; }
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+
+    /** 서명 시각/만료를 URL 에 그대로 적는 가짜 서명기. */
+    static class RecordingSigner implements PresignedUrlCache.Signer {
+        final AtomicInteger calls = new AtomicInteger();
+        @Override public URL sign(String objectKey, Instant signingTime, int expiresSeconds) {
+            calls.incrementAndGet();
+            try {
+                return URI.create("http://s3/" + objectKey + "?t=" + signingTime.getEpochSecond() + "&e=" + expiresSeconds).toURL();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("같은 버킷 안에서는 같은 URL 을 재사용하고, 남은 유효기간은 요청 만료 이상")
+    void reuseWithinBucket() {
+        MutableClock clock = new MutableClock(Instant.ofEpochSecond(1_000_000_010));
+        RecordingSigner signer = new RecordingSigner();
+        PresignedUrlCache cache = new PresignedUrlCache(signer, 300, 1000, new SimpleMeterRegistry(), clock);
+
+        URL first = cache.get("a", 600);
+        clock.now = clock.now.plusSeconds(250);
+        URL second = cache.get("a", 600);
+
+        assertThat(second).isSameAs(first);
+        assertThat(signer.calls).hasValue(1);
+
+        // 버킷 시작(1_000_000_000)에 서명, 만료 600+300 → 버킷 끝에서도 600초 남는다
+        assertThat(first.getQuery()).isEqualTo("t=1000000000&e=900");
+        long expiresAt = 1_000_000_000L + 900;
+        assertThat(expiresAt - clock.now.getEpochSecond()).isGreaterThanOrEqualTo(600);
+    }
+
+    @Test
+    @DisplayName("버킷이 바뀌거나 만료가 다르면 새로 서명")
+    void newBucketSignsAgain() {
+        MutableClock clock = new MutableClock(Instant.ofEpochSecond(1_000_000_010));
+        RecordingSigner signer = new RecordingSigner();
+        PresignedUrlCache cache = new PresignedUrlCache(signer, 300, 1000, new SimpleMeterRegistry(), clock);
+
+        URL first = cache.get("a", 600);
+        cache.get("a", 60);
+        clock.now = clock.now.plusSeconds(300);
+        URL next = cache.get("a", 600);
+
+        assertThat(next).isNotEqualTo(first);
+        assertThat(signer.calls).hasValue(3);
+    }
+}
@@ -0,0 +1,22 @@
+package com.project.imgapi.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagUtilTest {
+
+    @Test
+    @DisplayName("If-None-Match: 목록, *, 약한 비교")
+    void matches() {
+        assertThat(ETagUtil.matches("\"1-2-600-9\"", "\"1-2-600-9\"")).isTrue();
+        assertThat(ETagUtil.matches("\"x\", W/\"1-2-600-9\"", "\"1-2-600-9\"")).isTrue();
+        assertThat(ETagUtil.matches("\"abc\"", "W/\"abc\"")).isTrue();
+        assertThat(ETagUtil.matches("*", "\"abc\"")).isTrue();
+
+        assertThat(ETagUtil.matches("\"1-3-600-9\"", "\"1-2-600-9\"")).isFalse();
+        assertThat(ETagUtil.matches(null, "\"abc\"")).isFalse();
+        assertThat(ETagUtil.matches(" ", "\"abc\"")).isFalse();
+    }
+}
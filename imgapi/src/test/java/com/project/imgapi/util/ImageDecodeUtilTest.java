@@ -0,0 +1,35 @@
+package com.project.imgapi.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+
+import com.project.imgapi.perf.ValidateImageFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageDecodeUtilTest {
+
+    @Test
+    @DisplayName("서브샘플링 디코드는 목표 폭의 2배 이상을 유지한다")
+    void keepsAtLeastOversampledWidth() throws Exception {
+        byte[] jpeg = ValidateImageFactory.jpeg(3000, 2000);
+
+        BufferedImage img = ImageDecodeUtil.readSubsampled(new ByteArrayInputStream(jpeg), 512);
+
+        assertThat(ImageDecodeUtil.subsampling(3000, 512)).isEqualTo(2);
+        assertThat(img.getWidth()).isEqualTo(1500);
+        assertThat(img.getHeight()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("작은 원본은 그대로 디코드, 이미지가 아니면 null")
+    void smallOrInvalid() throws Exception {
+        assertThat(ImageDecodeUtil.subsampling(800, 512)).isEqualTo(1);
+        assertThat(ImageDecodeUtil.readSubsampled(new ByteArrayInputStream(ValidateImageFactory.jpeg(320, 240)), 512).getWidth())
+                .isEqualTo(320);
+        assertThat(ImageDecodeUtil.readSubsampled(new ByteArrayInputStream(new byte[]{1, 2, 3}), 512)).isNull();
+    }
+}